@@ -0,0 +1,80 @@
+package com.demo.fullstack_backend.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.demo.fullstack_backend.dto.UserDto;
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.model.User;
+import com.demo.fullstack_backend.model.Website;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setName("User Number " + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuN0tARealHashButTheRightLength1234");
+        user.setMobileNumber("98765" + String.format("%05d", id));
+        user.setRole("USER");
+        user.setPhone("040-1234567");
+        user.setAddress("221B Baker Street, London");
+        user.setGender("female");
+        user.setDob("1990-01-01");
+        user.setImage("/images/3f79bb7b435b05321651daefd374cdc681dc06faa65e374e38337b88ca046dea");
+        user.setStatus("ACTIVE");
+        return user;
+    }
+
+    static UserDto userDto(long id) {
+        UserDto dto = new UserDto();
+        dto.setId(id);
+        dto.setUsername("user" + id);
+        dto.setName("User Number " + id);
+        dto.setEmail("user" + id + "@example.com");
+        dto.setPassword("correct horse battery staple");
+        dto.setMobileNumber("98765" + String.format("%05d", id));
+        dto.setRole("USER");
+        dto.setGender("female");
+        dto.setDob("1990-01-01");
+        dto.setStatus("ACTIVE");
+        return dto;
+    }
+
+    static Website website(long id) {
+        Website website = new Website();
+        website.setId(id);
+        website.setName("Tenant site " + id);
+        website.setLogo("/images/3f79bb7b435b05321651daefd374cdc681dc06faa65e374e38337b88ca046dea");
+        website.setPrimaryColor("#1f6feb");
+        website.setSecondaryColor("#f6f8fa");
+        website.setActive(true);
+        website.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        website.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 12, 0));
+        return website;
+    }
+
+    static List<WebsiteDto> websiteDtos(int count) {
+        List<WebsiteDto> websites = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Website website = website(i);
+            WebsiteDto dto = new WebsiteDto();
+            dto.setId(website.getId());
+            dto.setName(website.getName());
+            dto.setLogo(website.getLogo());
+            dto.setPrimaryColor(website.getPrimaryColor());
+            dto.setSecondaryColor(website.getSecondaryColor());
+            dto.setActive(website.isActive());
+            dto.setCreatedAt(website.getCreatedAt());
+            dto.setUpdatedAt(website.getUpdatedAt());
+            websites.add(dto);
+        }
+        return websites;
+    }
+}
@@ -0,0 +1,70 @@
+package com.demo.fullstack_backend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+
+import com.demo.fullstack_backend.dto.UserDto;
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.mapper.UserMapper;
+import com.demo.fullstack_backend.mapper.WebsiteMapper;
+import com.demo.fullstack_backend.model.User;
+import com.demo.fullstack_backend.model.Website;
+
+// Compares the reflective BeanUtils copies the endpoints used to do with the generated mappers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+    private final WebsiteMapper websiteMapper = Mappers.getMapper(WebsiteMapper.class);
+
+    private final User user = BenchmarkData.user(42);
+    private final UserDto userDto = BenchmarkData.userDto(42);
+    private final Website website = BenchmarkData.website(42);
+
+    @Benchmark
+    public UserDto beanUtilsUserToDto() {
+        UserDto dto = new UserDto();
+        BeanUtils.copyProperties(user, dto);
+        dto.setPassword(null);
+        return dto;
+    }
+
+    @Benchmark
+    public User beanUtilsDtoToUser() {
+        User entity = new User();
+        BeanUtils.copyProperties(userDto, entity);
+        return entity;
+    }
+
+    @Benchmark
+    public WebsiteDto beanUtilsWebsiteToDto() {
+        WebsiteDto dto = new WebsiteDto();
+        BeanUtils.copyProperties(website, dto);
+        return dto;
+    }
+
+    @Benchmark
+    public UserDto mapperUserToDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public User mapperDtoToUser() {
+        return userMapper.toEntity(userDto);
+    }
+
+    @Benchmark
+    public WebsiteDto mapperWebsiteToDto() {
+        return websiteMapper.toDto(website);
+    }
+}
@@ -0,0 +1,85 @@
+package com.demo.fullstack_backend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.demo.fullstack_backend.FullstackBackendApplication;
+import com.demo.fullstack_backend.dto.UserDto;
+import com.demo.fullstack_backend.payload.LoginResponse;
+import com.demo.fullstack_backend.service.UserService;
+
+// Exercises UserService against the full application context on an in-memory H2 database (see
+// application-benchmark.properties), so the numbers include JPA, caching and password hashing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+
+    private static final int SEEDED_USERS = 1_000;
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private final AtomicLong sequence = new AtomicLong(SEEDED_USERS);
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private long existingId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FullstackBackendApplication.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.SERVLET)
+                .run();
+        userService = context.getBean(UserService.class);
+        for (int i = 1; i <= SEEDED_USERS; i++) {
+            UserDto user = BenchmarkData.userDto(i);
+            user.setId(0);
+            user.setPassword(PASSWORD);
+            UserDto saved = userService.saveUser(user);
+            if (i == SEEDED_USERS / 2) {
+                existingId = saved.getId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDto saveUser() {
+        UserDto user = BenchmarkData.userDto(sequence.incrementAndGet());
+        user.setId(0);
+        return userService.saveUser(user);
+    }
+
+    @Benchmark
+    public UserDto getUserById() {
+        return userService.getUserById(existingId);
+    }
+
+    @Benchmark
+    public List<UserDto> getUsersFirstPage() {
+        return userService.getUsers(0, 20);
+    }
+
+    @Benchmark
+    public LoginResponse loginUser() {
+        return userService.loginUser("user" + (SEEDED_USERS / 2) + "@example.com", PASSWORD);
+    }
+}
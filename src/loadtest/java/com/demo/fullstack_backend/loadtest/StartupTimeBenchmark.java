@@ -0,0 +1,154 @@
+package com.demo.fullstack_backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts the packaged application repeatedly in each startup mode and measures time to first
+ * request: from launching the process until /readyz answers 200. Modes are the plain
+ * jar, the faststart profile, faststart with an AppCDS archive, and, when the jar was built with
+ * -Paot, the same with Spring AOT; a native executable is included when one is passed in. Writes a
+ * Markdown table to build/reports/loadtest/startup.md.
+ *
+ * Like {@link ThreadModeLoadTest} the application needs the database SPRING_DATASOURCE_URL points
+ * at. Run with {@code ./gradlew startupBenchmark} (add {@code -Paot -PstartupNative} for native).
+ */
+public class StartupTimeBenchmark {
+
+    private static final String FASTSTART = "--spring.profiles.active=faststart";
+
+    private record Mode(String name, List<String> command) {
+    }
+
+    private record Result(String mode, long[] millis) {
+
+        long median() {
+            return millis[millis.length / 2];
+        }
+
+        long min() {
+            return millis[0];
+        }
+
+        long max() {
+            return millis[millis.length - 1];
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        int port = Integer.getInteger("startup.port", 9009);
+        int runs = Integer.getInteger("startup.runs", 5);
+        boolean aot = Boolean.getBoolean("startup.aot");
+        String nativeExecutable = System.getProperty("startup.nativeExecutable");
+        Path report = Path.of(System.getProperty("startup.report", "build/reports/loadtest/startup.md"));
+
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        // CDS archives only cover classes loaded from plain jars, so work from the extracted layout.
+        Path work = Files.createTempDirectory("startup-benchmark");
+        Path extracted = work.resolve("application");
+        exec(List.of(java, "-Djarmode=tools", "-jar", jar.toString(), "extract", "--destination", extracted.toString()));
+        Path application = extracted.resolve(jar.getFileName());
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("jar", List.of(java, "-jar", jar.toString())));
+        modes.add(new Mode("faststart", List.of(java, "-jar", application.toString(), FASTSTART)));
+        modes.add(new Mode("faststart + CDS", List.of(java, "-XX:SharedArchiveFile=" + train(java, application, work, false),
+                "-jar", application.toString(), FASTSTART)));
+        if (aot) {
+            modes.add(new Mode("faststart + CDS + AOT", List.of(java, "-XX:SharedArchiveFile=" + train(java, application, work, true),
+                    "-Dspring.aot.enabled=true", "-jar", application.toString(), FASTSTART)));
+        }
+        if (nativeExecutable != null) {
+            modes.add(new Mode("native image", List.of(nativeExecutable, FASTSTART)));
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Mode mode : modes) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstRequest(mode, port);
+            }
+            Arrays.sort(millis);
+            results.add(new Result(mode.name(), millis));
+        }
+
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, render(results, runs));
+        System.out.println(Files.readString(report));
+    }
+
+    // Records which classes a startup loads, the same way the Dockerfile does at image build time.
+    private static Path train(String java, Path application, Path work, boolean aot) throws Exception {
+        Path archive = work.resolve(aot ? "app-aot.jsa" : "app.jsa");
+        exec(List.of(java, "-XX:ArchiveClassesAtExit=" + archive, "-Dspring.context.exit=onRefresh",
+                "-Dspring.aot.enabled=" + aot, "-jar", application.toString(), FASTSTART));
+        return archive;
+    }
+
+    private static long timeToFirstRequest(Mode mode, int port) throws Exception {
+        List<String> command = new ArrayList<>(mode.command());
+        command.add("--server.port=" + port);
+        long start = System.nanoTime();
+        Process app = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            awaitHealthy("http://localhost:" + port, app);
+            return (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            app.destroy();
+            app.waitFor();
+        }
+    }
+
+    private static void awaitHealthy(String baseUrl, Process app) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/readyz")).build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(120).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + app.exitValue() + " before serving a request");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application did not become healthy within 120s");
+    }
+
+    private static void exec(List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Command failed: " + String.join(" ", command));
+        }
+    }
+
+    private static String render(List<Result> results, int runs) {
+        StringBuilder out = new StringBuilder();
+        out.append("# Startup time comparison\n\n");
+        out.append("Time from process launch to the first 200 from /readyz, ").append(runs).append(" runs per mode\n\n");
+        out.append("| Mode | Median (ms) | Min (ms) | Max (ms) |\n");
+        out.append("|------|------------:|---------:|---------:|\n");
+        for (Result result : results) {
+            out.append(String.format("| %s | %d | %d | %d |%n", result.mode(), result.median(), result.min(), result.max()));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,259 @@
+package com.demo.fullstack_backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Starts the packaged application once with platform request threads and once with virtual
+ * threads, drives the same request mix against each for a fixed duration, and writes a Markdown
+ * comparison to build/reports/loadtest/thread-modes.md.
+ *
+ * Only a small share of the mix is served from the caches (first page of /websites, the same
+ * single records); the rest is cursor pages and records picked at random, paged searches, and
+ * writes (website creation and signups, which hash a password). Those are the requests that hold
+ * a request thread on a JDBC connection or BCrypt, which is where the thread model matters.
+ *
+ * The application connects to whatever database SPRING_DATASOURCE_URL points at, so run it against
+ * a seeded instance that matches production data sizes; loadtest.maxId should be about the number
+ * of seeded users and websites. The writes leave loadtest-* rows behind. Run with
+ * {@code ./gradlew loadTest}. An example of the report layout is in src/loadtest/reports.
+ */
+public class ThreadModeLoadTest {
+
+    private static final String JSON = "application/json";
+    private static final String RUN = Long.toString(System.currentTimeMillis(), 36);
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private record Operation(String name, int weight, Function<String, HttpRequest.Builder> request) {
+    }
+
+    private static final int MAX_ID = Integer.getInteger("loadtest.maxId", 10_000);
+
+    private static final List<Operation> MIX = List.of(
+            // Cached or single-flight: the same URL on every call.
+            new Operation("GET /websites", 2, baseUrl -> get(baseUrl + "/websites")),
+            new Operation("GET /website/1", 1, baseUrl -> get(baseUrl + "/website/1")),
+            new Operation("GET /user/1", 1, baseUrl -> get(baseUrl + "/user/1")),
+            // Uncached: a different cursor or record on most calls.
+            new Operation("GET /users?after=random", 3, baseUrl -> get(baseUrl + "/users?limit=50&after=" + randomId())),
+            new Operation("GET /user/random", 3, baseUrl -> get(baseUrl + "/user/" + randomId())),
+            new Operation("GET /website/random", 2, baseUrl -> get(baseUrl + "/website/" + randomId())),
+            new Operation("GET /users/search", 3, baseUrl -> get(baseUrl + "/users/search?q=" + randomPrefix()
+                    + "&page=" + ThreadLocalRandom.current().nextInt(5))),
+            new Operation("GET /websites/search", 2, baseUrl -> get(baseUrl + "/websites/search?q=" + randomPrefix())),
+            // Writes.
+            new Operation("POST /website", 2, baseUrl -> post(baseUrl + "/website",
+                    "{\"name\":\"loadtest-" + RUN + "-" + SEQUENCE.incrementAndGet()
+                            + "\",\"primaryColor\":\"#112233\",\"secondaryColor\":\"#445566\",\"active\":true}")),
+            new Operation("POST /signup", 1, baseUrl -> {
+                String username = "loadtest-" + RUN + "-" + SEQUENCE.incrementAndGet();
+                return post(baseUrl + "/signup", "{\"username\":\"" + username + "\",\"name\":\"Load Test\",\"email\":\""
+                        + username + "@example.com\",\"password\":\"loadtest-password\"}");
+            }));
+
+    // Operation indexes repeated by weight; workers walk it from different offsets.
+    private static final int[] SCHEDULE = IntStream.range(0, MIX.size())
+            .flatMap(i -> IntStream.generate(() -> i).limit(MIX.get(i).weight()))
+            .toArray();
+
+    private record Result(String mode, long requests, long errors, double seconds, long[] latenciesMicros,
+                          List<long[]> latenciesByOperation) {
+
+        double throughput() {
+            return requests / seconds;
+        }
+
+        long percentile(double p) {
+            return percentile(latenciesMicros, p);
+        }
+
+        static long percentile(long[] latenciesMicros, double p) {
+            if (latenciesMicros.length == 0) {
+                return 0;
+            }
+            return latenciesMicros[(int) Math.min(latenciesMicros.length - 1, Math.ceil(p * latenciesMicros.length) - 1)];
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        int port = Integer.getInteger("loadtest.port", 9009);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 200);
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10));
+        Path report = Path.of(System.getProperty("loadtest.report", "build/reports/loadtest/thread-modes.md"));
+
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            Process app = new ProcessBuilder(java, "-jar", jar.toString(),
+                    "--server.port=" + port,
+                    "--spring.threads.virtual.enabled=" + virtual)
+                    .inheritIO()
+                    .start();
+            try {
+                String baseUrl = "http://localhost:" + port;
+                awaitHealthy(baseUrl);
+                run(baseUrl, concurrency, warmup, "warmup");
+                results.add(run(baseUrl, concurrency, duration, virtual ? "virtual threads" : "platform threads"));
+            } finally {
+                app.destroy();
+                app.waitFor();
+            }
+        }
+
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, render(results, concurrency, duration));
+        System.out.println(Files.readString(report));
+    }
+
+    private static Result run(String baseUrl, int concurrency, Duration duration, String mode) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[][]>> perWorker = new ArrayList<>();
+        Instant deadline = Instant.now().plus(duration);
+        long start = System.nanoTime();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                int worker = i;
+                perWorker.add(workers.submit(() -> {
+                    long[][] latencies = new long[MIX.size()][64];
+                    int[] counts = new int[MIX.size()];
+                    int calls = 0;
+                    while (Instant.now().isBefore(deadline)) {
+                        int operation = SCHEDULE[(worker + calls++) % SCHEDULE.length];
+                        HttpRequest request = MIX.get(operation).request().apply(baseUrl)
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        int count = counts[operation];
+                        if (count == latencies[operation].length) {
+                            latencies[operation] = Arrays.copyOf(latencies[operation], count * 2);
+                        }
+                        latencies[operation][count] = (System.nanoTime() - sent) / 1_000;
+                        counts[operation] = count + 1;
+                        requests.incrementAndGet();
+                    }
+                    for (int op = 0; op < latencies.length; op++) {
+                        latencies[op] = Arrays.copyOf(latencies[op], counts[op]);
+                    }
+                    return latencies;
+                }));
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        List<long[][]> collected = new ArrayList<>();
+        for (Future<long[][]> latencies : perWorker) {
+            collected.add(latencies.get());
+        }
+        List<long[]> byOperation = new ArrayList<>();
+        for (int i = 0; i < MIX.size(); i++) {
+            int operation = i;
+            byOperation.add(collected.stream().flatMapToLong(latencies -> Arrays.stream(latencies[operation])).sorted().toArray());
+        }
+        long[] all = byOperation.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(mode, requests.get(), errors.get(), seconds, all, byOperation);
+    }
+
+    private static HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET();
+    }
+
+    private static HttpRequest.Builder post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static long randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(MAX_ID);
+    }
+
+    private static String randomPrefix() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "" + (char) ('a' + random.nextInt(26)) + (char) ('a' + random.nextInt(26));
+    }
+
+    private static void awaitHealthy(String baseUrl) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        Instant deadline = Instant.now().plusSeconds(120);
+        while (Instant.now().isBefore(deadline)) {
+            try {
+                HttpResponse<String> response = client.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/readyz")).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application did not become healthy within 120s");
+    }
+
+    private static String render(List<Result> results, int concurrency, Duration duration) {
+        StringBuilder out = new StringBuilder();
+        out.append("# Request thread model comparison\n\n");
+        out.append("Mix (weight): ");
+        for (int i = 0; i < MIX.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append(MIX.get(i).name()).append(" (").append(MIX.get(i).weight()).append(')');
+        }
+        out.append(" | concurrency ").append(concurrency)
+                .append(" | ").append(duration.toSeconds()).append("s per mode\n\n");
+        out.append("| Mode | Requests/s | p50 (ms) | p99 (ms) | Errors |\n");
+        out.append("|------|-----------:|---------:|---------:|-------:|\n");
+        for (Result result : results) {
+            out.append(String.format("| %s | %.1f | %.2f | %.2f | %d |%n", result.mode(), result.throughput(),
+                    result.percentile(0.50) / 1000.0, result.percentile(0.99) / 1000.0, result.errors()));
+        }
+        out.append("\n## Per operation\n\n| Operation |");
+        for (Result result : results) {
+            out.append(' ').append(result.mode()).append(" p50 (ms) | ").append(result.mode()).append(" p99 (ms) |");
+        }
+        out.append("\n|-----------|").append("-------:|-------:|".repeat(results.size())).append('\n');
+        for (int i = 0; i < MIX.size(); i++) {
+            out.append("| ").append(MIX.get(i).name()).append(" |");
+            for (Result result : results) {
+                long[] latencies = result.latenciesByOperation().get(i);
+                out.append(String.format(" %.2f | %.2f |", Result.percentile(latencies, 0.50) / 1000.0,
+                        Result.percentile(latencies, 0.99) / 1000.0));
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,4 @@
+package com.demo.fullstack_backend.cache;
+
+public record CacheInvalidation(String origin, String cacheName, Object key) {
+}
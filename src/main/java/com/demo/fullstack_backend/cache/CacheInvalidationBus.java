@@ -0,0 +1,10 @@
+package com.demo.fullstack_backend.cache;
+
+import java.util.function.Consumer;
+
+// Fan-out channel for cache evictions. Replicas running behind a load balancer should register
+// a bean backed by a shared broker; without one, evictions stay local to the instance.
+public interface CacheInvalidationBus {
+    void publish(CacheInvalidation invalidation);
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
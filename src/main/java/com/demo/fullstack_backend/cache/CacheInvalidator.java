@@ -0,0 +1,49 @@
+package com.demo.fullstack_backend.cache;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CacheInvalidator {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheManager cacheManager;
+    private final CacheInvalidationBus bus;
+    private final WebsiteVersionIndex websiteVersionIndex;
+
+    public CacheInvalidator(CacheManager cacheManager, ObjectProvider<CacheInvalidationBus> bus,
+                            WebsiteVersionIndex websiteVersionIndex) {
+        this.cacheManager = cacheManager;
+        this.bus = bus.getIfAvailable(InMemoryCacheInvalidationBus::new);
+        this.websiteVersionIndex = websiteVersionIndex;
+        this.bus.subscribe(this::onInvalidation);
+    }
+
+    public void evict(String cacheName, Object key) {
+        evictLocally(cacheName, key);
+        bus.publish(new CacheInvalidation(nodeId, cacheName, key));
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        evictLocally(invalidation.cacheName(), invalidation.key());
+        if (CacheNames.WEBSITES.equals(invalidation.cacheName()) && invalidation.key() instanceof Number id) {
+            // Another instance changed this website, so our remembered ETag versions are stale too.
+            websiteVersionIndex.forget(id.longValue());
+            websiteVersionIndex.forgetCollection();
+        }
+    }
+
+    private void evictLocally(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.demo.fullstack_backend.cache;
+
+public final class CacheNames {
+
+    public static final String USERS = "users";
+    public static final String WEBSITES = "websites";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,78 @@
+package com.demo.fullstack_backend.cache;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.demo.fullstack_backend.projection.WebsiteCollectionVersion;
+
+// Remembers the current updatedAt of each website so conditional GETs can be answered
+// without a query. Entries come only from this instance's writes or from a fresh read of
+// updated_at, never from the cached DTO, and are only trusted for a short TTL, which bounds
+// how stale the answer can be when another instance wrote the row.
+@Component
+public class WebsiteVersionIndex {
+
+    private static final long COLLECTION_KEY = -1L;
+
+    private record Entry(LocalDateTime updatedAt, WebsiteCollectionVersion collection, long recordedAt) {
+    }
+
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${app.websites.versionTtlMs}")
+    private long ttlMs;
+
+    @Value("${app.websites.versionIndexMaxSize}")
+    private int maxSize;
+
+    public LocalDateTime lookup(long id) {
+        Entry entry = fresh(id);
+        return entry == null ? null : entry.updatedAt();
+    }
+
+    public void record(long id, LocalDateTime updatedAt) {
+        put(id, new Entry(updatedAt, null, System.nanoTime()));
+    }
+
+    public void forget(long id) {
+        entries.remove(id);
+    }
+
+    public WebsiteCollectionVersion lookupCollection() {
+        Entry entry = fresh(COLLECTION_KEY);
+        return entry == null ? null : entry.collection();
+    }
+
+    public void recordCollection(WebsiteCollectionVersion version) {
+        put(COLLECTION_KEY, new Entry(null, version, System.nanoTime()));
+    }
+
+    public void forgetCollection() {
+        entries.remove(COLLECTION_KEY);
+    }
+
+    private Entry fresh(long key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.recordedAt() > TimeUnit.MILLISECONDS.toNanos(ttlMs)) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private void put(long key, Entry entry) {
+        if (entries.size() >= maxSize) {
+            // Entries are cheap to rebuild, so a full reset is simpler than tracking recency.
+            entries.clear();
+        }
+        entries.put(key, entry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.demo.fullstack_backend.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import com.demo.fullstack_backend.security.JwtTokenProvider;
+
+// Selective lazy initialization for the faststart profile. The mail sender and the JWT provider
+// are only reached through @Lazy injection points, so marking their definitions lazy defers
+// creating them (and loading jakarta.mail and the jjwt/crypto classes) to the first mail batch or
+// the first token. Everything else stays eager so misconfiguration still fails at startup.
+@Configuration
+@Profile("faststart")
+public class FastStartConfig {
+
+    private static final Class<?>[] LAZY_TYPES = {JavaMailSender.class, JwtTokenProvider.class};
+
+    // Static so the post-processor is registered without instantiating this configuration early.
+    @Bean
+    public static BeanFactoryPostProcessor lazyMailAndJwtBeans() {
+        return beanFactory -> {
+            for (Class<?> type : LAZY_TYPES) {
+                for (String name : beanFactory.getBeanNamesForType(type, true, false)) {
+                    beanFactory.getBeanDefinition(name).setLazyInit(true);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.demo.fullstack_backend.config;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.demo.fullstack_backend.idempotency.IdempotencyFilter;
+import com.demo.fullstack_backend.idempotency.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper,
+                                                                       MeterRegistry meterRegistry,
+                                                                       @Value("${app.idempotency.paths}") List<String> paths,
+                                                                       @Value("${app.idempotency.waitTimeoutMs}") long waitTimeoutMs,
+                                                                       @Value("${spring.servlet.multipart.max-request-size}") DataSize maxBodySize) {
+        // Requests are buffered to fingerprint them, so no body may be larger than an upload can be.
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(store, new LinkedHashSet<>(paths), waitTimeoutMs, maxBodySize.toBytes(),
+                        objectMapper, meterRegistry));
+        registration.setUrlPatterns(paths);
+        // After Spring Security, so keys are scoped to the authenticated caller.
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 10);
+        return registration;
+    }
+}
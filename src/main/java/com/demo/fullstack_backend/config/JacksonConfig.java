@@ -0,0 +1,61 @@
+package com.demo.fullstack_backend.config;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.demo.fullstack_backend.service.impl.FileSystemImageStore;
+import com.demo.fullstack_backend.util.LocalDateTimeJsonSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer localDateTimeSerializer() {
+        return builder -> builder.serializerByType(LocalDateTime.class, new LocalDateTimeJsonSerializer());
+    }
+
+    // Binary variants of the JSON responses for clients that ask for them with
+    // Accept: application/x-jackson-smile or application/cbor. They replace the converters MVC
+    // would otherwise add with a plain mapper, so they share the Boot-configured modules and
+    // serializers; JSON stays first and remains the default.
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    // Since any API response can come back in one of three formats depending on Accept, shared and
+    // browser caches have to key on it. Stored image blobs are the only bodies that never vary.
+    @Bean
+    public FilterRegistrationBean<Filter> varyByAcceptFilter() {
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+            HttpServletRequest httpRequest = (HttpServletRequest) request;
+            String path = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+            if (!path.startsWith(FileSystemImageStore.REFERENCE_PREFIX)) {
+                ((HttpServletResponse) response).addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+            chain.doFilter(request, response);
+        });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,58 @@
+package com.demo.fullstack_backend.config;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import com.demo.fullstack_backend.ratelimit.InMemoryRateLimitStore;
+import com.demo.fullstack_backend.ratelimit.RateLimitFilter;
+import com.demo.fullstack_backend.ratelimit.RateLimitProperties;
+import com.demo.fullstack_backend.ratelimit.RateLimitStore;
+import com.demo.fullstack_backend.util.IdentifierNormalizer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties, ObjectProvider<RateLimitStore> store,
+                                                                   IdentifierNormalizer identifierNormalizer, ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry,
+                                                                   CorsConfigurationSource corsConfigurationSource) {
+        RateLimitStore rateLimitStore = store.getIfAvailable(() -> inMemoryStore(properties, meterRegistry));
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(properties, rateLimitStore, identifierNormalizer, objectMapper, meterRegistry,
+                        corsConfigurationSource));
+        List<String> paths = properties.getRules().values().stream()
+                .map(RateLimitProperties.Rule::getPath)
+                .distinct()
+                .toList();
+        registration.setUrlPatterns(paths);
+        registration.setEnabled(properties.isEnabled() && !paths.isEmpty());
+        // Ahead of Spring Security, so throttled requests are turned away before any other work.
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    private static InMemoryRateLimitStore inMemoryStore(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        Duration idleExpiry = properties.getRules().values().stream()
+                .map(RateLimitProperties.Rule::getPeriod)
+                .max(Comparator.naturalOrder())
+                .orElse(Duration.ofHours(1));
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(properties.getMaxKeys(), idleExpiry);
+        Gauge.builder("ratelimit.keys", store, InMemoryRateLimitStore::estimatedSize).register(meterRegistry);
+        return store;
+    }
+}
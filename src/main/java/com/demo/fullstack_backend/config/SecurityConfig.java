@@ -1,7 +1,10 @@
 package com.demo.fullstack_backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -9,22 +12,56 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import com.demo.fullstack_backend.security.BCryptStrength;
+import com.demo.fullstack_backend.security.JwtAuthenticationFilter;
+import com.demo.fullstack_backend.security.JwtTokenProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptStrength bcryptStrength(@Value("${app.security.bcrypt.cost}") int cost,
+                                         @Value("${app.security.bcrypt.targetLatencyMs}") long targetLatencyMs,
+                                         @Value("${app.security.bcrypt.minCost}") int minCost,
+                                         @Value("${app.security.bcrypt.maxCost}") int maxCost) {
+        if (cost > 0) {
+            return new BCryptStrength(cost);
+        }
+        return BCryptStrength.calibrate(targetLatencyMs, minCost, maxCost);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public PasswordEncoder passwordEncoder(BCryptStrength bcryptStrength) {
+        return new BCryptPasswordEncoder(bcryptStrength.cost());
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, @Lazy JwtTokenProvider tokenProvider, MeterRegistry meterRegistry,
+                                                   @Value("${app.jwt.verifiedCacheMaxSize}") long verifiedCacheMaxSize,
+                                                   @Value("${management.server.port}") int managementPort) throws Exception {
+        // Not a bean on purpose: Boot would also register a Filter bean with the servlet container.
+        JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(tokenProvider, meterRegistry, verifiedCacheMaxSize);
+        // Scrapes are anonymous only on the management port, which stays on the internal network.
+        RequestMatcher prometheusScrape = request -> request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
         return http.csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Of the actuator endpoints only health and the probes are anonymous; caches accepts
+                // DELETE, so it and metrics need an authenticated caller like any other endpoint.
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/", "/signup", "/login", "/forgot-password", "/verify-otp", "/reset-password", "/users", "/user/**", "/website", "/websites", "/website/**", "/error")
+                        .requestMatchers("/", "/signup", "/login", "/forgot-password", "/verify-otp", "/reset-password", "/users", "/user/**", "/website", "/websites", "/website/**", "/actuator/health", "/livez", "/readyz", "/error")
+                        .permitAll()
+                        // Stored images are public, but uploading one needs a signed-in caller.
+                        .requestMatchers(HttpMethod.GET, "/images/**")
+                        .permitAll()
+                        .requestMatchers(prometheusScrape)
                         .permitAll()
                         .anyRequest()
                         .authenticated())
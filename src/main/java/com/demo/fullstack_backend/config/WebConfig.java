@@ -4,10 +4,14 @@ import java.util.Arrays;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.demo.fullstack_backend.idempotency.IdempotencyFilter;
+import com.demo.fullstack_backend.util.PageLimits;
+
 @Configuration
 public class WebConfig {
 
@@ -17,6 +21,8 @@ public class WebConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000", "https://mallikarjunvelivela.github.io","https://mallikarjunvelivela.vercel.app"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(PageLimits.NEXT_CURSOR_HEADER, IdempotencyFilter.REPLAYED_HEADER,
+                HttpHeaders.RETRY_AFTER));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,105 @@
+package com.demo.fullstack_backend.controller;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.demo.fullstack_backend.dto.BulkImportResult;
+import com.demo.fullstack_backend.dto.UserDto;
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.service.BulkTransferService;
+import com.demo.fullstack_backend.util.BulkRowReader;
+import com.demo.fullstack_backend.util.CsvWriter;
+import com.demo.fullstack_backend.util.MediaTypes;
+import com.demo.fullstack_backend.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Bulk import takes NDJSON or CSV (header row with the DTO property names) and streams it
+// straight into the importer. Exports default to NDJSON; send Accept: text/csv for CSV, which
+// uses the same columns. A websites export can be imported again as is. A users export can't:
+// it never contains password hashes, and user import requires a BCrypt hash in "password" for
+// every row, so those have to be added from elsewhere first.
+@RestController
+public class BulkController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final List<String> USER_COLUMNS = List.of("id", "username", "name", "email", "mobileNumber",
+            "role", "phone", "address", "gender", "dob", "image", "status");
+
+    private static final List<String> WEBSITE_COLUMNS = List.of("id", "name", "logo", "primaryColor",
+            "secondaryColor", "active", "createdAt", "updatedAt");
+
+    @Autowired
+    private BulkTransferService bulkTransferService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.bulk.maxFieldLength}")
+    private int maxFieldLength;
+
+    @PostMapping(value = "/users:bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public BulkImportResult importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        return bulkTransferService.importUsers(
+                BulkRowReader.open(body, MediaType.parseMediaType(contentType), UserDto.class, objectMapper, maxFieldLength));
+    }
+
+    @PostMapping(value = "/websites:bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public BulkImportResult importWebsites(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        return bulkTransferService.importWebsites(
+                BulkRowReader.open(body, MediaType.parseMediaType(contentType), WebsiteDto.class, objectMapper, maxFieldLength));
+    }
+
+    @GetMapping("/users:export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (MediaTypes.accepts(accept, BulkRowReader.TEXT_CSV)) {
+            return attachment("users.csv", BulkRowReader.TEXT_CSV, out -> {
+                CsvWriter csv = new CsvWriter(out);
+                csv.writeRow(USER_COLUMNS);
+                bulkTransferService.exportUsers(user -> csv.writeRow(Arrays.asList(user.getId(), user.getUsername(),
+                        user.getName(), user.getEmail(), user.getMobileNumber(), user.getRole(), user.getPhone(),
+                        user.getAddress(), user.getGender(), user.getDob(), user.getImage(), user.getStatus())));
+                csv.flush();
+            });
+        }
+        return attachment("users.ndjson", MediaType.APPLICATION_NDJSON,
+                out -> bulkTransferService.exportUsers(new NdjsonWriter(out, objectMapper)));
+    }
+
+    @GetMapping("/websites:export")
+    public ResponseEntity<StreamingResponseBody> exportWebsites(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (MediaTypes.accepts(accept, BulkRowReader.TEXT_CSV)) {
+            return attachment("websites.csv", BulkRowReader.TEXT_CSV, out -> {
+                CsvWriter csv = new CsvWriter(out);
+                csv.writeRow(WEBSITE_COLUMNS);
+                bulkTransferService.exportWebsites(website -> csv.writeRow(Arrays.asList(website.getId(),
+                        website.getName(), website.getLogo(), website.getPrimaryColor(), website.getSecondaryColor(),
+                        website.isActive(), website.getCreatedAt(), website.getUpdatedAt())));
+                csv.flush();
+            });
+        }
+        return attachment("websites.ndjson", MediaType.APPLICATION_NDJSON,
+                out -> bulkTransferService.exportWebsites(new NdjsonWriter(out, objectMapper)));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String filename, MediaType contentType,
+                                                                    StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,50 @@
+package com.demo.fullstack_backend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.demo.fullstack_backend.dto.SearchResult;
+import com.demo.fullstack_backend.dto.UserDto;
+import com.demo.fullstack_backend.dto.UserSearchCriteria;
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.dto.WebsiteSearchCriteria;
+import com.demo.fullstack_backend.service.SearchService;
+import com.demo.fullstack_backend.util.PageLimits;
+
+@RestController
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Value("${app.pagination.defaultPageSize}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.maxPageSize}")
+    private int maxPageSize;
+
+    @GetMapping("/users/search")
+    public SearchResult<UserDto> searchUsers(@RequestParam(required = false) String q,
+                                             @RequestParam(required = false) String role,
+                                             @RequestParam(required = false) String status,
+                                             @RequestParam(required = false) String gender,
+                                             @RequestParam(required = false) String sort,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(required = false) Integer size) {
+        return searchService.searchUsers(new UserSearchCriteria(q, role, status, gender), sort, page,
+                PageLimits.clamp(size, defaultPageSize, maxPageSize));
+    }
+
+    @GetMapping("/websites/search")
+    public SearchResult<WebsiteDto> searchWebsites(@RequestParam(required = false) String q,
+                                                   @RequestParam(required = false) Boolean active,
+                                                   @RequestParam(required = false) String sort,
+                                                   @RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(required = false) Integer size) {
+        return searchService.searchWebsites(new WebsiteSearchCriteria(q, active), sort, page,
+                PageLimits.clamp(size, defaultPageSize, maxPageSize));
+    }
+}
@@ -4,6 +4,10 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,12 +15,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.demo.fullstack_backend.dto.UserDto;
 import com.demo.fullstack_backend.payload.LoginResponse;
 import com.demo.fullstack_backend.security.JwtTokenProvider;
 import com.demo.fullstack_backend.service.UserService;
+import com.demo.fullstack_backend.util.MediaTypes;
+import com.demo.fullstack_backend.util.NdjsonWriter;
+import com.demo.fullstack_backend.util.PageLimits;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 public class UserController {
@@ -24,9 +35,19 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Lazy
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.pagination.defaultPageSize}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.maxPageSize}")
+    private int maxPageSize;
+
     @PostMapping("/signup")
     public ResponseEntity<LoginResponse> newUser(@RequestBody UserDto newUser){
         UserDto savedUser = userService.saveUser(newUser);
@@ -69,8 +90,21 @@ public class UserController {
     }
 
     @GetMapping("/users")
-    List<UserDto> getAllUsers(){
-        return userService.getAllUsers();
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) Long after,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (MediaTypes.wantsNdjson(accept)) {
+            StreamingResponseBody body = out -> userService.streamUsers(new NdjsonWriter(out, objectMapper));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+        }
+
+        int pageSize = PageLimits.clamp(limit, defaultPageSize, maxPageSize);
+        List<UserDto> users = userService.getUsers(after == null ? 0 : after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.size() == pageSize) {
+            response.header(PageLimits.NEXT_CURSOR_HEADER, String.valueOf(users.get(users.size() - 1).getId()));
+        }
+        return response.body(users);
     }
 
     @GetMapping("/user/{id}")
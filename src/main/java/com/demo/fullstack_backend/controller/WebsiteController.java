@@ -1,30 +1,75 @@
 package com.demo.fullstack_backend.controller;
 
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.demo.fullstack_backend.dto.WebsiteDto;
-import com.demo.fullstack_backend.model.Website;
-import com.demo.fullstack_backend.repository.WebsiteRepository;
+import com.demo.fullstack_backend.projection.WebsiteCollectionVersion;
+import com.demo.fullstack_backend.service.WebsiteService;
+import com.demo.fullstack_backend.util.ETags;
+import com.demo.fullstack_backend.util.MediaTypes;
+import com.demo.fullstack_backend.util.NdjsonWriter;
+import com.demo.fullstack_backend.util.PageLimits;
+import com.demo.fullstack_backend.util.SingleFlight;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 
 @RestController
 public class WebsiteController {
 
     @Autowired
-    private WebsiteRepository websiteRepository;
+    private WebsiteService websiteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.pagination.defaultPageSize}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.maxPageSize}")
+    private int maxPageSize;
+
+    // Concurrent reads of the same website or page share one load and one JSON encoding. Results are
+    // only shared while the load is running, so nothing outlives the request that produced it.
+    private SingleFlight<Long, LoadedWebsite> websiteLoads;
+    private SingleFlight<String, LoadedPage> pageLoads;
+
+    private record LoadedWebsite(WebsiteDto website, byte[] json) {
+    }
+
+    private record LoadedPage(List<WebsiteDto> websites, byte[] json) {
+    }
+
+    @PostConstruct
+    public void init() {
+        this.websiteLoads = new SingleFlight<>("website", meterRegistry);
+        this.pageLoads = new SingleFlight<>("websites", meterRegistry);
+    }
 
     @GetMapping("/")
     public String home() {
@@ -33,58 +78,103 @@ public class WebsiteController {
 
     @PostMapping("/website")
     public WebsiteDto createWebsite(@RequestBody WebsiteDto newWebsiteDto) {
-        Website website = new Website();
-        BeanUtils.copyProperties(newWebsiteDto, website);
-        website.setCreatedAt(LocalDateTime.now());
-        website.setUpdatedAt(LocalDateTime.now());
-        Website savedWebsite = websiteRepository.save(website);
-        WebsiteDto savedWebsiteDto = new WebsiteDto();
-        BeanUtils.copyProperties(savedWebsite, savedWebsiteDto);
-        return savedWebsiteDto;
+        return websiteService.createWebsite(newWebsiteDto);
     }
 
     @GetMapping("/websites")
-    public List<WebsiteDto> getAllWebsites() {
-        return websiteRepository.findAll().stream().map(website -> {
-            WebsiteDto websiteDto = new WebsiteDto();
-            BeanUtils.copyProperties(website, websiteDto);
-            return websiteDto;
-        }).collect(Collectors.toList());
+    public ResponseEntity<?> getAllWebsites(@RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (MediaTypes.wantsNdjson(accept)) {
+            StreamingResponseBody body = out -> websiteService.streamWebsites(new NdjsonWriter(out, objectMapper));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+        }
+
+        long afterId = after == null ? 0 : after;
+        int pageSize = PageLimits.clamp(limit, defaultPageSize, maxPageSize);
+        WebsiteCollectionVersion version = websiteService.getCollectionVersion();
+        String pageVersion = ETags.forWebsitePage(version.getCount(), version.getMaxId(), version.getLastUpdatedAt(), afterId, pageSize);
+        String etag = ETags.forFormat(pageVersion, MediaTypes.jacksonFormat(accept));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        // The page version covers the collection version and the page bounds, so it identifies the
+        // page exactly whatever format it is then written in.
+        LoadedPage page = pageLoads.execute(pageVersion, () -> {
+            List<WebsiteDto> websites = websiteService.getWebsites(afterId, pageSize);
+            return new LoadedPage(websites, toJson(websites));
+        });
+        List<WebsiteDto> websites = page.websites();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (websites.size() == pageSize) {
+            response.header(PageLimits.NEXT_CURSOR_HEADER, String.valueOf(websites.get(websites.size() - 1).getId()));
+        }
+        if (MediaTypes.wantsJson(accept)) {
+            return response.contentType(MediaType.APPLICATION_JSON).body(page.json());
+        }
+        return response.body(websites);
     }
 
     @GetMapping("/website/{id}")
-    public WebsiteDto getWebsiteById(@PathVariable Long id) {
-        Website website = websiteRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Website not found with id: " + id));
-        WebsiteDto websiteDto = new WebsiteDto();
-        BeanUtils.copyProperties(website, websiteDto);
-        return websiteDto;
+    public ResponseEntity<?> getWebsiteById(@PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        MediaType format = MediaTypes.jacksonFormat(accept);
+        LocalDateTime currentVersion = websiteService.getWebsiteVersion(id);
+        if (currentVersion != null && ETags.matches(ifNoneMatch, ETags.forFormat(ETags.forWebsite(id, currentVersion), format))) {
+            return notModified(id, currentVersion, format);
+        }
+
+        LoadedWebsite loaded = websiteLoads.execute(id, () -> {
+            WebsiteDto website = websiteService.getWebsiteById(id);
+            if (currentVersion != null && !currentVersion.equals(website.getUpdatedAt())) {
+                // Cached here before another instance's write, and the eviction never reached us.
+                website = websiteService.reloadWebsite(id);
+            }
+            return new LoadedWebsite(website, toJson(website));
+        });
+        WebsiteDto websiteDto = loaded.website();
+        String etag = ETags.forFormat(ETags.forWebsite(id, websiteDto.getUpdatedAt()), format);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return notModified(id, websiteDto.getUpdatedAt(), format);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (websiteDto.getUpdatedAt() != null) {
+            response.lastModified(websiteDto.getUpdatedAt().atZone(ZoneId.systemDefault()));
+        }
+        if (MediaTypes.wantsJson(accept)) {
+            return response.contentType(MediaType.APPLICATION_JSON).body(loaded.json());
+        }
+        return response.body(websiteDto);
     }
 
     @PutMapping("/website/{id}")
     public WebsiteDto updateWebsite(@RequestBody WebsiteDto newWebsiteDto, @PathVariable Long id) {
-        Website website = websiteRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Website not found with id: " + id));
-
-        website.setName(newWebsiteDto.getName());
-        website.setLogo(newWebsiteDto.getLogo());
-        website.setPrimaryColor(newWebsiteDto.getPrimaryColor());
-        website.setSecondaryColor(newWebsiteDto.getSecondaryColor());
-        website.setActive(newWebsiteDto.isActive());
-        website.setUpdatedAt(LocalDateTime.now());
-        
-        Website updatedWebsite = websiteRepository.save(website);
-        WebsiteDto updatedWebsiteDto = new WebsiteDto();
-        BeanUtils.copyProperties(updatedWebsite, updatedWebsiteDto);
-        return updatedWebsiteDto;
+        return websiteService.updateWebsite(newWebsiteDto, id);
     }
 
     @DeleteMapping("/website/{id}")
     public String deleteWebsite(@PathVariable Long id) {
-        if (!websiteRepository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Website not found with id: " + id);
+        return websiteService.deleteWebsite(id);
+    }
+
+    private ResponseEntity<WebsiteDto> notModified(long id, LocalDateTime updatedAt, MediaType format) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(ETags.forFormat(ETags.forWebsite(id, updatedAt), format));
+        if (updatedAt != null) {
+            response.lastModified(updatedAt.atZone(ZoneId.systemDefault()));
+        }
+        return response.build();
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
         }
-        websiteRepository.deleteById(id);
-        return "Website with id " + id + " has been deleted successfully.";
     }
 }
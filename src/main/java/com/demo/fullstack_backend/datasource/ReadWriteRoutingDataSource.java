@@ -0,0 +1,55 @@
+package com.demo.fullstack_backend.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import io.micrometer.core.instrument.Counter;
+
+// Hands out lazy connection proxies; the physical connection is only taken once the first
+// statement runs, by which point the transaction manager has marked it read-only or not.
+// Read-only transactions are served by the replica pool, everything else by the primary.
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor, Counter fallbacks) {
+        super(primary);
+        setReadOnlyDataSource(new ReplicaOrPrimary(primary, replica, lagMonitor, fallbacks));
+    }
+
+    private static class ReplicaOrPrimary extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final DataSource replica;
+        private final ReplicaLagMonitor lagMonitor;
+        private final Counter fallbacks;
+
+        ReplicaOrPrimary(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor, Counter fallbacks) {
+            this.primary = primary;
+            this.replica = replica;
+            this.lagMonitor = lagMonitor;
+            this.fallbacks = fallbacks;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return target().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return target().getConnection(username, password);
+        }
+
+        private DataSource target() {
+            if (lagMonitor.isReplicaUsable()) {
+                return replica;
+            }
+            fallbacks.increment();
+            return primary;
+        }
+    }
+}
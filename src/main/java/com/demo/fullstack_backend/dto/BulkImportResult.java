@@ -0,0 +1,14 @@
+package com.demo.fullstack_backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Outcome of a bulk import. Every input row gets an entry, in input order: the new id when it
+// was inserted, otherwise the reason it was skipped.
+public record BulkImportResult(long received, long created, long failed, List<RowResult> rows) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record RowResult(long line, Long id, String error) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.demo.fullstack_backend.dto;
+
+import java.util.List;
+
+// One page of search hits. Counting stops at app.search.countLimit, so totalExact is false when
+// there are at least that many matches and total is only a lower bound.
+public record SearchResult<T>(List<T> items, int page, int size, long total, boolean totalExact) {
+}
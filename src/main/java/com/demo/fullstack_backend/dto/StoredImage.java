@@ -0,0 +1,4 @@
+package com.demo.fullstack_backend.dto;
+
+public record StoredImage(String hash, String contentType, long size, String reference, String thumbnailReference) {
+}
@@ -16,5 +16,6 @@ public class UserDto {
     private String gender;
     private String dob;
     private String image;
+    private String imageThumbnail;
     private String status;
 }
@@ -0,0 +1,5 @@
+package com.demo.fullstack_backend.dto;
+
+// q matches the start of username, email or name, case-insensitively; the rest are exact filters.
+public record UserSearchCriteria(String q, String role, String status, String gender) {
+}
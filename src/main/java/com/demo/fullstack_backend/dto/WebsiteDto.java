@@ -8,6 +8,7 @@ public class WebsiteDto {
     private Long id;
     private String name;
     private String logo;
+    private String logoThumbnail;
     private String primaryColor;
     private String secondaryColor;
     private boolean active;
@@ -0,0 +1,5 @@
+package com.demo.fullstack_backend.dto;
+
+// q matches the start of the website name, case-insensitively.
+public record WebsiteSearchCriteria(String q, Boolean active) {
+}
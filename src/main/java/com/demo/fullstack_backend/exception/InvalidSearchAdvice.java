@@ -0,0 +1,23 @@
+package com.demo.fullstack_backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ControllerAdvice
+public class InvalidSearchAdvice {
+
+    @ResponseBody
+    @ExceptionHandler(InvalidSearchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String,String> exceptionHandler(InvalidSearchException exception){
+        Map<String,String> errorMap=new HashMap<>();
+        errorMap.put("error",exception.getMessage());
+        return errorMap;
+    }
+}
@@ -0,0 +1,7 @@
+package com.demo.fullstack_backend.exception;
+
+public class InvalidSearchException extends RuntimeException {
+    public InvalidSearchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.demo.fullstack_backend.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("Too many concurrent authentication requests, please retry shortly.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.demo.fullstack_backend.exception;
+
+public class WebsiteNotFoundException extends RuntimeException {
+    public WebsiteNotFoundException(Long id) {
+        super("Website not found with id: " + id);
+    }
+}
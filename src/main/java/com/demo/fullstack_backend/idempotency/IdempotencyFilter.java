@@ -0,0 +1,206 @@
+package com.demo.fullstack_backend.idempotency;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.demo.fullstack_backend.util.CachedBodyRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// POSTs to the configured paths that carry an Idempotency-Key run at most once per key and
+// caller. A retry after completion gets the recorded response back; a retry that arrives while
+// the first attempt is still running waits for it instead of hashing a password or queueing a
+// mail a second time. Runs after Spring Security, so a key is scoped to the authenticated user
+// (or, for anonymous calls such as signup, the client address) and a replay never skips the
+// authorization check. Bodies are buffered for fingerprinting, so they are capped at maxBodyBytes.
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final Set<String> paths;
+    private final long waitTimeoutMs;
+    private final long maxBodyBytes;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore store, Set<String> paths, long waitTimeoutMs, long maxBodyBytes,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.paths = paths;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.maxBodyBytes = maxBodyBytes;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            error(response, HttpStatus.BAD_REQUEST, HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            tooLarge(response);
+            return;
+        }
+        // Chunked bodies carry no length up front, so the read itself stops one byte past the cap.
+        byte[] body = request.getInputStream().readNBytes((int) Math.min(maxBodyBytes + 1, Integer.MAX_VALUE - 8));
+        if (body.length > maxBodyBytes) {
+            tooLarge(response);
+            return;
+        }
+        String key = sha256((caller(request) + '\n' + path(request) + '\n' + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+        String fingerprint = sha256(body);
+
+        while (true) {
+            StoredResponse stored = store.find(key);
+            if (stored != null) {
+                replay(stored, fingerprint, response, "replayed");
+                return;
+            }
+
+            CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, execution);
+            if (running == null) {
+                execute(key, fingerprint, new CachedBodyRequest(request, body), response, filterChain, execution);
+                return;
+            }
+
+            StoredResponse result;
+            try {
+                result = running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                error(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed.");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed.");
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            if (result != null) {
+                replay(result, fingerprint, response, "coalesced");
+                return;
+            }
+            // The first attempt ended in a server error, which is not recorded; this one gets to retry.
+        }
+    }
+
+    private void execute(String key, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain, CompletableFuture<StoredResponse> execution) throws ServletException, IOException {
+        StoredResponse result = null;
+        try {
+            // A previous leader may have stored its response between our lookup and taking the slot.
+            StoredResponse stored = store.find(key);
+            if (stored != null) {
+                result = stored;
+                replay(stored, fingerprint, response, "replayed");
+                return;
+            }
+
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, wrapper);
+            meterRegistry.counter("idempotency.requests", "outcome", "executed").increment();
+            if (isRecordable(wrapper.getStatus())) {
+                result = new StoredResponse(fingerprint, wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray());
+                store.save(key, result);
+            }
+            wrapper.copyBodyToResponse();
+        } finally {
+            inFlight.remove(key, execution);
+            execution.complete(result);
+        }
+    }
+
+    // Server errors and rate limiting are transient, so retries of those run again.
+    private static boolean isRecordable(int status) {
+        return status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void replay(StoredResponse stored, String fingerprint, HttpServletResponse response, String outcome) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            meterRegistry.counter("idempotency.requests", "outcome", "mismatch").increment();
+            error(response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used for a different request.");
+            return;
+        }
+        meterRegistry.counter("idempotency.requests", "outcome", outcome).increment();
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void tooLarge(HttpServletResponse response) throws IOException {
+        meterRegistry.counter("idempotency.requests", "outcome", "too_large").increment();
+        error(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large.");
+    }
+
+    private void error(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+
+    // Anonymous callers are told apart by address, so one client can't replay (or block) another's
+    // signup by guessing its key.
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        return "user:" + authentication.getName();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
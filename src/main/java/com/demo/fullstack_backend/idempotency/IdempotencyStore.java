@@ -0,0 +1,11 @@
+package com.demo.fullstack_backend.idempotency;
+
+public interface IdempotencyStore {
+
+    // The response recorded for this key, or null if there is none or it has expired.
+    StoredResponse find(String key);
+
+    // Keeps the response for app.idempotency.ttl. If another instance already stored one for the
+    // same key, the first one wins.
+    void save(String key, StoredResponse response);
+}
@@ -0,0 +1,37 @@
+package com.demo.fullstack_backend.idempotency;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Single-instance store. Bounded, so a client inventing a new key per request can only push out
+// the oldest entries, never grow the heap.
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, StoredResponse> responses;
+
+    public InMemoryIdempotencyStore(@Value("${app.idempotency.maxKeys}") long maxKeys,
+                                    @Value("${app.idempotency.ttl}") Duration ttl) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        responses.asMap().putIfAbsent(key, response);
+    }
+}
@@ -0,0 +1,53 @@
+package com.demo.fullstack_backend.idempotency;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Shares recorded responses between instances through the idempotency_keys table (V5 migration),
+// so a retry that lands on another instance is still answered from the first execution.
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.idempotency.ttl}")
+    private Duration ttl;
+
+    @Override
+    public StoredResponse find(String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(
+                "select fingerprint, status, content_type, body from idempotency_keys where idempotency_key = ? and expires_at > ?",
+                (rs, rowNum) -> new StoredResponse(rs.getString("fingerprint"), rs.getInt("status"),
+                        rs.getString("content_type"), rs.getBytes("body")),
+                key, new Timestamp(System.currentTimeMillis()));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        try {
+            jdbcTemplate.update("insert into idempotency_keys (idempotency_key, fingerprint, status, content_type, body, expires_at) "
+                            + "values (?, ?, ?, ?, ?, ?)",
+                    key, response.fingerprint(), response.status(), response.contentType(), response.body(),
+                    new Timestamp(System.currentTimeMillis() + ttl.toMillis()));
+        } catch (DuplicateKeyException e) {
+            // Another instance finished the same request first; its response stands.
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purgeIntervalMs}")
+    public void purgeExpired() {
+        jdbcTemplate.update("delete from idempotency_keys where expires_at <= ?", new Timestamp(System.currentTimeMillis()));
+    }
+}
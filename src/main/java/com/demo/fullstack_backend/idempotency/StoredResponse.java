@@ -0,0 +1,6 @@
+package com.demo.fullstack_backend.idempotency;
+
+// What a replay sends back. The fingerprint is a digest of the original request body, so a key
+// reused for a different payload can be told apart from a genuine retry.
+public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+}
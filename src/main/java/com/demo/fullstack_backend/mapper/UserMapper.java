@@ -0,0 +1,68 @@
+package com.demo.fullstack_backend.mapper;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+import com.demo.fullstack_backend.dto.UserDto;
+import com.demo.fullstack_backend.model.User;
+import com.demo.fullstack_backend.projection.UserProfile;
+import com.demo.fullstack_backend.projection.UserSummary;
+import com.demo.fullstack_backend.service.impl.FileSystemImageStore;
+
+// Generated at compile time (UserMapperImpl), so mapping is plain getter/setter calls with no
+// reflection. The password hash never leaves the entity; callers encode and set it themselves.
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface UserMapper {
+
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "imageThumbnail", source = "image", qualifiedByName = "thumbnail")
+    UserDto toDto(User user);
+
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "phone", ignore = true)
+    @Mapping(target = "address", ignore = true)
+    @Mapping(target = "gender", ignore = true)
+    @Mapping(target = "dob", ignore = true)
+    @Mapping(target = "image", ignore = true)
+    @Mapping(target = "imageThumbnail", ignore = true)
+    UserDto toDto(UserSummary user);
+
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "imageThumbnail", source = "image", qualifiedByName = "thumbnail")
+    UserDto toDto(UserProfile user);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "usernameNormalized", ignore = true)
+    @Mapping(target = "nameNormalized", ignore = true)
+    @Mapping(target = "emailNormalized", ignore = true)
+    @Mapping(target = "mobileNumberNormalized", ignore = true)
+    User toEntity(UserDto userDto);
+
+    // Partial update: null fields in the request leave the stored value alone. It covers the same
+    // fields updateUser always has; role, status, phone and address are not editable through the
+    // profile endpoint, and password and image need encoding/internalizing by the caller.
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "image", ignore = true)
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "phone", ignore = true)
+    @Mapping(target = "address", ignore = true)
+    @Mapping(target = "usernameNormalized", ignore = true)
+    @Mapping(target = "nameNormalized", ignore = true)
+    @Mapping(target = "emailNormalized", ignore = true)
+    @Mapping(target = "mobileNumberNormalized", ignore = true)
+    void updateEntity(UserDto userDto, @MappingTarget User user);
+
+    @Named("thumbnail")
+    default String thumbnail(String image) {
+        return FileSystemImageStore.thumbnailReference(image);
+    }
+}
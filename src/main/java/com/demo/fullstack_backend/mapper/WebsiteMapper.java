@@ -0,0 +1,48 @@
+package com.demo.fullstack_backend.mapper;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.model.Website;
+import com.demo.fullstack_backend.projection.WebsiteSummary;
+import com.demo.fullstack_backend.service.impl.FileSystemImageStore;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface WebsiteMapper {
+
+    // List views can show the thumbnail instead of downloading the full-size logo.
+    @Mapping(target = "logoThumbnail", source = "logo", qualifiedByName = "thumbnail")
+    WebsiteDto toDto(Website website);
+
+    @Mapping(target = "logoThumbnail", source = "logo", qualifiedByName = "thumbnail")
+    WebsiteDto toDto(WebsiteSummary website);
+
+    // Id and timestamps are assigned by the server; the logo is internalized by the caller.
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "logo", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "nameNormalized", ignore = true)
+    Website toEntity(WebsiteDto websiteDto);
+
+    // Partial update: null fields in the request leave the stored value alone. The primitive
+    // active flag is always copied, as before.
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "logo", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "nameNormalized", ignore = true)
+    void updateEntity(WebsiteDto websiteDto, @MappingTarget Website website);
+
+    @Named("thumbnail")
+    default String thumbnail(String logo) {
+        return FileSystemImageStore.thumbnailReference(logo);
+    }
+}
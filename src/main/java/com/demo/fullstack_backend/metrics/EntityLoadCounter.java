@@ -0,0 +1,31 @@
+package com.demo.fullstack_backend.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Counts every entity Hibernate hydrates, including those pulled in by lazy associations and
+// batch fetches, which is where N+1 patterns show up.
+@Component
+public class EntityLoadCounter {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityLoadCounter(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        PostLoadEventListener listener = event -> QueryCounter.entityLoaded();
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, listener);
+    }
+}
@@ -0,0 +1,47 @@
+package com.demo.fullstack_backend.metrics;
+
+// Per-request tally of the SQL statements executed (see QueryCountingDataSource) and the entities
+// Hibernate materializes.
+// Only threads that called start() are counted, so scheduled jobs and startup work are ignored.
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private int queries;
+    private int entitiesLoaded;
+
+    private QueryCounter() {
+    }
+
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void queryExecuted() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.queries++;
+        }
+    }
+
+    static void entityLoaded() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.entitiesLoaded++;
+        }
+    }
+
+    public int queries() {
+        return queries;
+    }
+
+    public int entitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
@@ -0,0 +1,64 @@
+package com.demo.fullstack_backend.metrics;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Records how many queries and entity loads each request caused, tagged like http.server.requests
+// so the two can be read side by side, and logs requests slower than app.metrics.slowRequestMs.
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestMs;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, long slowRequestMs) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestMs = slowRequestMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter counter = QueryCounter.start();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.stop();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            String uri = uri(request);
+            summary("http.server.requests.queries", request, uri).record(counter.queries());
+            summary("http.server.requests.entities", request, uri).record(counter.entitiesLoaded());
+            if (elapsedMs >= slowRequestMs) {
+                log.warn("Slow request {} {} took {} ms with {} queries and {} entities loaded (status {})",
+                        request.getMethod(), uri, elapsedMs, counter.queries(), counter.entitiesLoaded(), response.getStatus());
+            }
+        }
+    }
+
+    private DistributionSummary summary(String name, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // The route template keeps the tag bounded; /user/42 and /user/43 both report as /user/{id}.
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
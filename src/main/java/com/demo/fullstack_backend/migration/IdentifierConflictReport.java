@@ -0,0 +1,56 @@
+package com.demo.fullstack_backend.migration;
+
+import java.util.List;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+// Logs the accounts V1_2 had to leave without a normalized identifier because an older account
+// normalized to the same value. The full list stays in identifier_conflicts; the log names the
+// first few so whoever ran the migration knows to look there.
+@Component
+public class IdentifierConflictReport implements Callback {
+
+    private static final Logger log = LoggerFactory.getLogger(IdentifierConflictReport.class);
+
+    private static final MigrationVersion IDENTIFIER_COLUMNS = MigrationVersion.fromVersion("1.2");
+    private static final int LOGGED_ROWS = 100;
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_EACH_MIGRATE && context.getMigrationInfo() != null
+                && IDENTIFIER_COLUMNS.equals(context.getMigrationInfo().getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        Long conflicts = jdbcTemplate.queryForObject("select count(*) from identifier_conflicts", Long.class);
+        if (conflicts == null || conflicts == 0) {
+            return;
+        }
+        List<String> rows = jdbcTemplate.query(
+                "select user_id, identifier, kept_user_id from identifier_conflicts order by id limit " + LOGGED_ROWS,
+                (rs, rowNum) -> "user " + rs.getLong("user_id") + " " + rs.getString("identifier")
+                        + " (kept by user " + rs.getLong("kept_user_id") + ")");
+        log.warn("Migration 1.2 cleared {} normalized identifiers shared with an older account; "
+                + "see table identifier_conflicts. First {}: {}", conflicts, rows.size(), rows);
+    }
+
+    @Override
+    public String getCallbackName() {
+        return getClass().getSimpleName();
+    }
+}
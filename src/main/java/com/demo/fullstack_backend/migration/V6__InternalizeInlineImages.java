@@ -0,0 +1,58 @@
+package com.demo.fullstack_backend.migration;
+
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import com.demo.fullstack_backend.exception.InvalidImageException;
+import com.demo.fullstack_backend.service.ImageStore;
+
+// Moves images that were saved inline as data URIs into the image store, leaving a reference behind.
+// Boot hands JavaMigration beans to Flyway, so this runs once per database like the SQL migrations
+// instead of rescanning both tables on every start.
+@Component
+public class V6__InternalizeInlineImages extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final ImageStore imageStore;
+
+    public V6__InternalizeInlineImages(ImageStore imageStore) {
+        this.imageStore = imageStore;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        backfill(jdbcTemplate, "users", "image");
+        backfill(jdbcTemplate, "websites", "logo");
+    }
+
+    private void backfill(JdbcTemplate jdbcTemplate, String table, String column) {
+        long lastId = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "select id, " + column + " as image from " + table
+                            + " where id > ? and " + column + " like 'data:%' order by id limit " + BATCH_SIZE,
+                    lastId);
+            if (rows.isEmpty()) {
+                return;
+            }
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                lastId = id;
+                try {
+                    String reference = imageStore.internalize((String) row.get("image"));
+                    jdbcTemplate.update("update " + table + " set " + column + " = ? where id = ?", reference, id);
+                } catch (InvalidImageException e) {
+                    // Leave rows we can't decode untouched rather than losing the original value.
+                }
+            }
+        }
+    }
+}
@@ -1,17 +1,37 @@
 package com.demo.fullstack_backend.model;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 
 @Entity
 @Data
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_username_normalized", columnNames = "username_normalized"),
+        @UniqueConstraint(name = "uk_users_email_normalized", columnNames = "email_normalized"),
+        @UniqueConstraint(name = "uk_users_mobile_number_normalized", columnNames = "mobile_number_normalized")
+}, indexes = {
+        @Index(name = "idx_users_status", columnList = "status"),
+        @Index(name = "idx_users_role", columnList = "role"),
+        @Index(name = "idx_users_gender", columnList = "gender"),
+        @Index(name = "idx_users_name_normalized", columnList = "name_normalized")
+})
+@EntityListeners(UserIdentifierListener.class)
+@DynamicUpdate
 public class User {
 
     @Id
@@ -27,11 +47,25 @@ public class User {
     private String mobileNumber;
     private String role;
     private String phone;
+    // Detail-only columns, loaded on first access (bytecode enhancement, see build.gradle). They are
+    // left out of toString/equals so logging an entity never triggers the extra select.
+    @Basic(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String address;
     private String gender;
     private String dob;
-    private String otp;
+    @Basic(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String image;
     private String status;
 
+    // Lower-cased / E.164 copies of the identifiers, maintained by UserIdentifierListener. The
+    // identifier copies are unique, so "Alice" and "alice" can't be two different accounts.
+    private String usernameNormalized;
+    private String nameNormalized;
+    private String emailNormalized;
+    private String mobileNumberNormalized;
+
 }
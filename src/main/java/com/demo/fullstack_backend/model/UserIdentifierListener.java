@@ -0,0 +1,27 @@
+package com.demo.fullstack_backend.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.demo.fullstack_backend.util.IdentifierNormalizer;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+// Keeps the normalized lookup columns in step with the raw values on every JPA write. Hibernate
+// gets this instance from Spring, so the normalizer is injected.
+@Component
+public class UserIdentifierListener {
+
+    @Autowired
+    private IdentifierNormalizer identifierNormalizer;
+
+    @PrePersist
+    @PreUpdate
+    public void normalize(User user) {
+        user.setUsernameNormalized(identifierNormalizer.username(user.getUsername()));
+        user.setNameNormalized(identifierNormalizer.name(user.getName()));
+        user.setEmailNormalized(identifierNormalizer.email(user.getEmail()));
+        user.setMobileNumberNormalized(identifierNormalizer.mobileNumber(user.getMobileNumber()));
+    }
+}
@@ -2,24 +2,33 @@ package com.demo.fullstack_backend.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "websites")
+@Table(name = "websites", indexes = {
+        @Index(name = "idx_websites_active", columnList = "active"),
+        @Index(name = "idx_websites_name_normalized", columnList = "name_normalized")
+})
+@EntityListeners(WebsiteNameListener.class)
+@DynamicUpdate
 public class Website {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(columnDefinition = "TEXT", unique = true)
+    @Column(length = 191, unique = true)
     private String name;
 
     @Column(columnDefinition = "TEXT")
@@ -34,4 +43,8 @@ public class Website {
     private boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    // Lower-cased copy of name for prefix search, maintained by WebsiteNameListener.
+    @Column(length = 191)
+    private String nameNormalized;
 }
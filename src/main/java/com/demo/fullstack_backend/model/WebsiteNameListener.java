@@ -0,0 +1,22 @@
+package com.demo.fullstack_backend.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.demo.fullstack_backend.util.IdentifierNormalizer;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+@Component
+public class WebsiteNameListener {
+
+    @Autowired
+    private IdentifierNormalizer identifierNormalizer;
+
+    @PrePersist
+    @PreUpdate
+    public void normalize(Website website) {
+        website.setNameNormalized(identifierNormalizer.name(website.getName()));
+    }
+}
@@ -0,0 +1,8 @@
+package com.demo.fullstack_backend.projection;
+
+// Just enough to check a login; the profile is only read once the password matched.
+public interface UserCredentials {
+    long getId();
+    String getUsername();
+    String getPassword();
+}
@@ -0,0 +1,11 @@
+package com.demo.fullstack_backend.projection;
+
+public interface UserIdentity {
+    long getId();
+    String getUsername();
+    String getEmail();
+    String getMobileNumber();
+    String getUsernameNormalized();
+    String getEmailNormalized();
+    String getMobileNumberNormalized();
+}
@@ -0,0 +1,10 @@
+package com.demo.fullstack_backend.projection;
+
+// Every column except the password hash; used where the full record is wanted, such as exports.
+public interface UserProfile extends UserSummary {
+    String getPhone();
+    String getAddress();
+    String getGender();
+    String getDob();
+    String getImage();
+}
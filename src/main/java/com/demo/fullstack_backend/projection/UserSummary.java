@@ -0,0 +1,13 @@
+package com.demo.fullstack_backend.projection;
+
+// Closed projection used by the list endpoints: only the columns a list view shows are selected
+// and the rows are never attached to the persistence context, so streaming them keeps memory flat.
+public interface UserSummary {
+    long getId();
+    String getUsername();
+    String getName();
+    String getEmail();
+    String getMobileNumber();
+    String getRole();
+    String getStatus();
+}
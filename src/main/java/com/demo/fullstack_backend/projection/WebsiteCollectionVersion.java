@@ -0,0 +1,9 @@
+package com.demo.fullstack_backend.projection;
+
+import java.time.LocalDateTime;
+
+public interface WebsiteCollectionVersion {
+    long getCount();
+    Long getMaxId();
+    LocalDateTime getLastUpdatedAt();
+}
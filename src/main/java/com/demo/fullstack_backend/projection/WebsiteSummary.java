@@ -0,0 +1,14 @@
+package com.demo.fullstack_backend.projection;
+
+import java.time.LocalDateTime;
+
+public interface WebsiteSummary {
+    Long getId();
+    String getName();
+    String getLogo();
+    String getPrimaryColor();
+    String getSecondaryColor();
+    boolean isActive();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
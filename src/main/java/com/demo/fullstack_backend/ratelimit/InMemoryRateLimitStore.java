@@ -0,0 +1,32 @@
+package com.demo.fullstack_backend.ratelimit;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Buckets for a single instance. The map is bounded, so a flood of distinct keys (spoofed
+// identifiers) evicts old buckets instead of exhausting the heap; an idle bucket is full again
+// by the time it expires, so dropping it changes nothing.
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public InMemoryRateLimitStore(long maxKeys, Duration idleExpiry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    @Override
+    public Duration tryAcquire(String key, int capacity, Duration period) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, ignored -> new TokenBucket(now));
+        return Duration.ofNanos(bucket.tryAcquire(now, capacity, period.toNanos()));
+    }
+
+    public long estimatedSize() {
+        return buckets.estimatedSize();
+    }
+}
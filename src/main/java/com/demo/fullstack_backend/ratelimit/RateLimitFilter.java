@@ -0,0 +1,148 @@
+package com.demo.fullstack_backend.ratelimit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.demo.fullstack_backend.util.CachedBodyRequest;
+import com.demo.fullstack_backend.util.IdentifierNormalizer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Applies the configured app.ratelimit rules before the request reaches Spring Security or the
+// controllers, so a rejected request costs a map lookup and a CAS rather than a BCrypt or an SMTP
+// round trip. Every matching rule must grant a token; the first one that doesn't answers 429.
+// Only POSTs are counted: CORS preflights and other methods never reach a credential check.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // The identifier sits in a small JSON body. Bigger bodies on these paths are refused rather than
+    // let through unkeyed, and bodies without a usable identifier are charged to the client address.
+    private static final int MAX_INSPECTED_BODY = 8192;
+    private static final Pattern PHONE_LIKE = Pattern.compile("[+0-9 ().-]+");
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore store;
+    private final IdentifierNormalizer identifierNormalizer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitStore store, IdentifierNormalizer identifierNormalizer,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry, CorsConfigurationSource corsConfigurationSource) {
+        this.properties = properties;
+        this.store = store;
+        this.identifierNormalizer = identifierNormalizer;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.corsConfigurationSource = corsConfigurationSource;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        List<Map.Entry<String, RateLimitProperties.Rule>> rules = properties.getRules().entrySet().stream()
+                .filter(rule -> path.equals(rule.getValue().getPath()))
+                .toList();
+        if (rules.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest target = request;
+        String identifier = null;
+        if (rules.stream().anyMatch(rule -> rule.getValue().getKey() == RateLimitProperties.KeyType.IDENTIFIER)) {
+            byte[] body = request.getInputStream().readNBytes(MAX_INSPECTED_BODY + 1);
+            if (body.length > MAX_INSPECTED_BODY) {
+                for (Map.Entry<String, RateLimitProperties.Rule> entry : rules) {
+                    meterRegistry.counter("ratelimit.requests", "rule", entry.getKey(), "outcome", "too_large").increment();
+                }
+                reject(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large.");
+                return;
+            }
+            target = new CachedBodyRequest(request, body);
+            identifier = identifier(body);
+        }
+
+        for (Map.Entry<String, RateLimitProperties.Rule> entry : rules) {
+            RateLimitProperties.Rule rule = entry.getValue();
+            String key = rule.getKey() == RateLimitProperties.KeyType.IP || identifier == null
+                    ? "ip:" + request.getRemoteAddr()
+                    : "id:" + identifier;
+            Duration wait = store.tryAcquire(entry.getKey() + ':' + key, rule.getCapacity(), rule.getPeriod());
+            if (!wait.isZero()) {
+                meterRegistry.counter("ratelimit.requests", "rule", entry.getKey(), "outcome", "rejected").increment();
+                long seconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+                reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, please retry in " + seconds + " seconds.");
+                return;
+            }
+            meterRegistry.counter("ratelimit.requests", "rule", entry.getKey(), "outcome", "allowed").increment();
+        }
+        filterChain.doFilter(target, response);
+    }
+
+    // Null when the body carries no usable identifier.
+    private String identifier(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        JsonNode value;
+        try {
+            value = objectMapper.readTree(body).get("emailOrMobile");
+        } catch (IOException e) {
+            return null;
+        }
+        // Scalars are accepted like Jackson binds them into the controller's Map<String, String>.
+        if (value == null || !value.isValueNode() || value.isNull()) {
+            return null;
+        }
+        String raw = value.asText();
+        String normalized;
+        if (identifierNormalizer.looksLikeEmail(raw)) {
+            normalized = identifierNormalizer.email(raw);
+        } else if (PHONE_LIKE.matcher(raw.trim()).matches()) {
+            normalized = identifierNormalizer.mobileNumber(raw);
+        } else {
+            normalized = identifierNormalizer.username(raw);
+        }
+        return normalized;
+    }
+
+    // This filter runs ahead of Spring Security's CorsFilter, so rejections carry the CORS headers
+    // themselves; otherwise a browser could read neither the status nor Retry-After.
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        CorsConfiguration cors = corsConfigurationSource.getCorsConfiguration(request);
+        if (cors != null && !corsProcessor.processRequest(cors, request, response)) {
+            return;
+        }
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+}
@@ -0,0 +1,34 @@
+package com.demo.fullstack_backend.ratelimit;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.ratelimit")
+public class RateLimitProperties {
+
+    public enum KeyType {
+        // Client address as seen by the servlet container (honours server.forward-headers-strategy).
+        IP,
+        // The emailOrMobile field of the JSON body, normalized so spelling variants share a bucket.
+        IDENTIFIER
+    }
+
+    @Data
+    public static class Rule {
+        private String path;
+        private KeyType key = KeyType.IP;
+        private int capacity;
+        private Duration period;
+    }
+
+    private boolean enabled = true;
+    private long maxKeys = 100_000;
+    // Rule name -> rule; the name is used in bucket keys and as the metric tag.
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+}
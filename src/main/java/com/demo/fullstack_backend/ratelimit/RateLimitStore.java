@@ -0,0 +1,13 @@
+package com.demo.fullstack_backend.ratelimit;
+
+import java.time.Duration;
+
+// Where the buckets live. The in-process InMemoryRateLimitStore is used unless another
+// implementation is registered as a bean, e.g. one backed by Redis so every instance shares
+// the same budget.
+public interface RateLimitStore {
+
+    // Takes one token from the bucket for key, which refills capacity tokens per period.
+    // Returns Duration.ZERO when granted, otherwise how long until a token frees up.
+    Duration tryAcquire(String key, int capacity, Duration period);
+}
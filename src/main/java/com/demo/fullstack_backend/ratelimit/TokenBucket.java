@@ -0,0 +1,32 @@
+package com.demo.fullstack_backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single timestamp (the GCRA formulation): the "theoretical arrival time"
+// is when the bucket would be full again. Taking a token is one CAS, so concurrent requests for
+// the same key never block each other.
+public final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    // Takes one token. Returns 0 when granted, otherwise the nanoseconds until one will be available.
+    public long tryAcquire(long nowNanos, int capacity, long periodNanos) {
+        long interval = Math.max(1, periodNanos / capacity);
+        long tolerance = interval * (capacity - 1);
+        while (true) {
+            long current = theoreticalArrival.get();
+            long arrival = current - nowNanos > 0 ? current : nowNanos;
+            long wait = arrival - tolerance - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + interval)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.demo.fullstack_backend.repository;
+
+import com.demo.fullstack_backend.model.OutboxMail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Long> {
+
+    // A lock timeout of -2 is Hibernate's SKIP LOCKED, so concurrent dispatchers claim disjoint batches.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<OutboxMail> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(OutboxMail.Status status, LocalDateTime now, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxMail m where m.status in :statuses and m.createdAt < :cutoff")
+    int deleteByStatusInAndCreatedAtBefore(@Param("statuses") Collection<OutboxMail.Status> statuses,
+                                           @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,17 +1,69 @@
 package com.demo.fullstack_backend.repository;
 
 import com.demo.fullstack_backend.model.User;
+import com.demo.fullstack_backend.projection.UserCredentials;
+import com.demo.fullstack_backend.projection.UserIdentity;
+import com.demo.fullstack_backend.projection.UserSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User,Long> {
-    List<User> findByUsernameOrEmail(String username, String email);
+    // Login and account recovery look up one normalized column at a time, so each query is a
+    // single probe of that column's unique index.
+    Optional<UserCredentials> findByUsernameNormalized(String usernameNormalized);
 
-    Optional<User> findFirstByEmailOrMobileNumber(String email, String mobileNumber);
+    Optional<UserCredentials> findByEmailNormalized(String emailNormalized);
 
-    List<User> findByUsername(String username);
-    List<User> findByEmail(String email);
-    List<User> findByMobileNumber(String mobileNumber);
+    Optional<UserIdentity> findIdentityByEmailNormalized(String emailNormalized);
+
+    Optional<UserIdentity> findIdentityByMobileNumberNormalized(String mobileNumberNormalized);
+
+    // Conflicts are decided on the normalized values, the same ones the unique constraints cover.
+    @Query("select u.id as id, u.username as username, u.email as email, u.mobileNumber as mobileNumber, "
+            + "u.usernameNormalized as usernameNormalized, u.emailNormalized as emailNormalized, "
+            + "u.mobileNumberNormalized as mobileNumberNormalized from User u "
+            + "where u.usernameNormalized = :username or u.emailNormalized = :email "
+            + "or u.mobileNumberNormalized = :mobileNumber")
+    List<UserIdentity> findIdentityConflicts(@Param("username") String usernameNormalized,
+                                             @Param("email") String emailNormalized,
+                                             @Param("mobileNumber") String mobileNumberNormalized);
+
+    @Query("select u.id as id, u.username as username, u.email as email, u.mobileNumber as mobileNumber, "
+            + "u.usernameNormalized as usernameNormalized, u.emailNormalized as emailNormalized, "
+            + "u.mobileNumberNormalized as mobileNumberNormalized from User u "
+            + "where u.usernameNormalized in :usernames or u.emailNormalized in :emails "
+            + "or u.mobileNumberNormalized in :mobileNumbers")
+    List<UserIdentity> findIdentityConflictsIn(@Param("usernames") Collection<String> usernamesNormalized,
+                                               @Param("emails") Collection<String> emailsNormalized,
+                                               @Param("mobileNumbers") Collection<String> mobileNumbersNormalized);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") long id, @Param("password") String password);
+
+    // A single DELETE; the row count tells whether the user existed.
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteUserById(@Param("id") long id);
+
+    List<UserSummary> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    Optional<UserSummary> findSummaryById(long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    <T> Stream<T> streamAllByOrderByIdAsc(Class<T> type);
 }
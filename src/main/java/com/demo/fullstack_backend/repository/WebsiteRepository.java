@@ -1,7 +1,44 @@
 package com.demo.fullstack_backend.repository;
 
 import com.demo.fullstack_backend.model.Website;
+import com.demo.fullstack_backend.projection.WebsiteCollectionVersion;
+import com.demo.fullstack_backend.projection.WebsiteSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface WebsiteRepository extends JpaRepository<Website, Long> {
+    @Transactional(readOnly = true)
+    List<WebsiteSummary> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<WebsiteSummary> streamAllByOrderByIdAsc();
+
+    @Transactional(readOnly = true)
+    @Query("select count(w) as count, max(w.id) as maxId, max(w.updatedAt) as lastUpdatedAt from Website w")
+    WebsiteCollectionVersion findCollectionVersion();
+
+    @Transactional(readOnly = true)
+    @Query("select w.updatedAt from Website w where w.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Website w where w.id = :id")
+    int deleteWebsiteById(@Param("id") long id);
+
+    @Query("select w.name from Website w where w.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
 }
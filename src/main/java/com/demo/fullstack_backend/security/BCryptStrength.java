@@ -0,0 +1,38 @@
+package com.demo.fullstack_backend.security;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public record BCryptStrength(int cost) {
+
+    // A complete BCrypt hash; group 1 is the cost.
+    public static final Pattern BCRYPT_HASH = Pattern.compile("\\$2[abyx]?\\$(\\d\\d)\\$[./A-Za-z0-9]{53}");
+
+    // Picks the highest cost whose hash time stays within the target on this machine. Each extra
+    // cost step doubles the work, so one measurement at the minimum is enough to extrapolate.
+    public static BCryptStrength calibrate(long targetLatencyMs, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode("calibration-warmup");
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+        double fastestMs = Math.max(fastestNanos / 1_000_000.0, 0.001);
+        int extraSteps = (int) Math.floor(Math.log(targetLatencyMs / fastestMs) / Math.log(2));
+        return new BCryptStrength(Math.max(minCost, Math.min(maxCost, minCost + extraSteps)));
+    }
+
+    // Hashes of a higher cost are left alone, so instances that disagree on the cost never
+    // rehash the same password back and forth.
+    public boolean exceedsCostOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return true;
+        }
+        Matcher matcher = BCRYPT_HASH.matcher(encodedPassword);
+        return !matcher.matches() || Integer.parseInt(matcher.group(1)) < cost;
+    }
+}
@@ -1,7 +1,11 @@
 package com.demo.fullstack_backend.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -20,22 +24,37 @@ public class JwtTokenProvider {
 
     private Key key;
 
+    private JwtParser parser;
+
+    private final Timer signTimer;
+
+    public JwtTokenProvider(MeterRegistry meterRegistry) {
+        this.signTimer = Timer.builder("jwt.sign").publishPercentileHistogram().register(meterRegistry);
+    }
+
     @PostConstruct
     public void init() {
         // Create a key from the secret string. The string must be long enough for the algorithm.
         // For HS512, the secret should be at least 64 bytes long.
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        // JwtParser is immutable and thread-safe, so one instance serves every request.
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateToken(String username) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        return Jwts.builder()
+        return signTimer.record(() -> Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(key)
-                .compact();
+                .compact());
+    }
+
+    // Verifies the signature and expiry; throws JwtException (or IllegalArgumentException) when invalid.
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 }
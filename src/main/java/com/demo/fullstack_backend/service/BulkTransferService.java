@@ -0,0 +1,16 @@
+package com.demo.fullstack_backend.service;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import com.demo.fullstack_backend.dto.BulkImportResult;
+import com.demo.fullstack_backend.dto.UserDto;
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.util.BulkRowReader;
+
+public interface BulkTransferService {
+    BulkImportResult importUsers(Iterator<BulkRowReader.Row<UserDto>> rows);
+    BulkImportResult importWebsites(Iterator<BulkRowReader.Row<WebsiteDto>> rows);
+    void exportUsers(Consumer<? super UserDto> consumer);
+    void exportWebsites(Consumer<? super WebsiteDto> consumer);
+}
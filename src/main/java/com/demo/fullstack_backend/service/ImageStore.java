@@ -0,0 +1,12 @@
+package com.demo.fullstack_backend.service;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.demo.fullstack_backend.dto.StoredImage;
+
+public interface ImageStore {
+    StoredImage store(byte[] content);
+    String internalize(String imageValue);
+    Optional<Path> locate(String hash, boolean thumbnail);
+}
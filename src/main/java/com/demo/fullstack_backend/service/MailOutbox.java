@@ -0,0 +1,5 @@
+package com.demo.fullstack_backend.service;
+
+public interface MailOutbox {
+    void enqueue(String recipient, String subject, String body);
+}
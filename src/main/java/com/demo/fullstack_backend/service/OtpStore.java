@@ -0,0 +1,15 @@
+package com.demo.fullstack_backend.service;
+
+public interface OtpStore {
+
+    enum Verification {
+        VERIFIED, INVALID, EXPIRED
+    }
+
+    void issue(long userId, String otp);
+
+    // Counts as an attempt; once verified the entry turns into a short-lived password reset grant.
+    Verification verify(long userId, String otp);
+
+    boolean consumeResetGrant(long userId);
+}
@@ -0,0 +1,12 @@
+package com.demo.fullstack_backend.service;
+
+import com.demo.fullstack_backend.dto.SearchResult;
+import com.demo.fullstack_backend.dto.UserDto;
+import com.demo.fullstack_backend.dto.UserSearchCriteria;
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.dto.WebsiteSearchCriteria;
+
+public interface SearchService {
+    SearchResult<UserDto> searchUsers(UserSearchCriteria criteria, String sort, int page, int size);
+    SearchResult<WebsiteDto> searchWebsites(WebsiteSearchCriteria criteria, String sort, int page, int size);
+}
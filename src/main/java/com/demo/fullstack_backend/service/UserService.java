@@ -1,13 +1,15 @@
 package com.demo.fullstack_backend.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.demo.fullstack_backend.dto.UserDto;
 import com.demo.fullstack_backend.payload.LoginResponse;
 
 public interface UserService {
     UserDto saveUser(UserDto userDto);
-    List<UserDto> getAllUsers();
+    List<UserDto> getUsers(long afterId, int limit);
+    void streamUsers(Consumer<? super UserDto> consumer);
     UserDto getUserById(Long id);
     UserDto updateUser(UserDto userDto, Long id);
     String deleteUser(Long id);
@@ -0,0 +1,20 @@
+package com.demo.fullstack_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.projection.WebsiteCollectionVersion;
+
+public interface WebsiteService {
+    WebsiteDto createWebsite(WebsiteDto websiteDto);
+    List<WebsiteDto> getWebsites(long afterId, int limit);
+    void streamWebsites(Consumer<? super WebsiteDto> consumer);
+    WebsiteCollectionVersion getCollectionVersion();
+    LocalDateTime getWebsiteVersion(Long id);
+    WebsiteDto getWebsiteById(Long id);
+    WebsiteDto reloadWebsite(Long id);
+    WebsiteDto updateWebsite(WebsiteDto websiteDto, Long id);
+    String deleteWebsite(Long id);
+}
@@ -0,0 +1,30 @@
+package com.demo.fullstack_backend.service.impl;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.demo.fullstack_backend.model.OutboxMail;
+import com.demo.fullstack_backend.repository.OutboxMailRepository;
+import com.demo.fullstack_backend.service.MailOutbox;
+
+@Service
+public class DatabaseMailOutbox implements MailOutbox {
+
+    @Autowired
+    private OutboxMailRepository outboxMailRepository;
+
+    @Override
+    public void enqueue(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxMail mail = new OutboxMail();
+        mail.setRecipient(recipient);
+        mail.setSubject(subject);
+        mail.setBody(body);
+        mail.setStatus(OutboxMail.Status.PENDING);
+        mail.setCreatedAt(now);
+        mail.setNextAttemptAt(now);
+        outboxMailRepository.save(mail);
+    }
+}
@@ -0,0 +1,245 @@
+package com.demo.fullstack_backend.service.impl;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.demo.fullstack_backend.dto.StoredImage;
+import com.demo.fullstack_backend.exception.InvalidImageException;
+import com.demo.fullstack_backend.service.ImageStore;
+import com.demo.fullstack_backend.util.ImageFormats;
+
+import jakarta.annotation.PostConstruct;
+
+@Service
+public class FileSystemImageStore implements ImageStore {
+
+    public static final String REFERENCE_PREFIX = "/images/";
+    public static final String THUMBNAIL_SUFFIX = "/thumbnail";
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${app.images.dir}")
+    private String imagesDir;
+
+    @Value("${app.images.maxBytes}")
+    private int maxBytes;
+
+    @Value("${app.images.thumbnailSize}")
+    private int thumbnailSize;
+
+    @Value("${app.images.maxPixels}")
+    private long maxPixels;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        this.root = Paths.get(imagesDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public StoredImage store(byte[] content) {
+        if (content == null || content.length == 0) {
+            throw new InvalidImageException("Image is empty.");
+        }
+        if (content.length > maxBytes) {
+            throw new InvalidImageException("Image exceeds the maximum size of " + maxBytes + " bytes.");
+        }
+        String contentType = ImageFormats.sniff(content);
+        if (contentType == null) {
+            throw new InvalidImageException("Unsupported image format.");
+        }
+
+        // A small, highly compressed file can still decode to gigabytes of pixels, so the size in
+        // the header is checked before anything is decoded.
+        ImageDimensions dimensions = readDimensions(content);
+        if (dimensions != null && (long) dimensions.width() * dimensions.height() > maxPixels) {
+            throw new InvalidImageException("Image exceeds the maximum of " + maxPixels + " pixels.");
+        }
+
+        String hash = sha256(content);
+        Path blob = blobPath(hash, false);
+        try {
+            // Identical uploads hash to the same path, so a blob is only ever written once. The
+            // thumbnail goes first so an existing blob always implies its thumbnail is in place.
+            if (Files.notExists(blob)) {
+                Files.createDirectories(blob.getParent());
+                writeThumbnail(hash, content, contentType, dimensions);
+                writeAtomically(blob, content);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image " + hash, e);
+        }
+        return new StoredImage(hash, contentType, content.length,
+                REFERENCE_PREFIX + hash, REFERENCE_PREFIX + hash + THUMBNAIL_SUFFIX);
+    }
+
+    @Override
+    public String internalize(String imageValue) {
+        if (imageValue == null || !imageValue.startsWith("data:")) {
+            return imageValue;
+        }
+        int comma = imageValue.indexOf(',');
+        if (comma < 0 || !imageValue.substring(0, comma).endsWith(";base64")) {
+            throw new InvalidImageException("Only base64 encoded data URIs are supported.");
+        }
+        byte[] content;
+        try {
+            content = Base64.getMimeDecoder().decode(imageValue.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidImageException("Image data is not valid base64.", e);
+        }
+        return store(content).reference();
+    }
+
+    @Override
+    public Optional<Path> locate(String hash, boolean thumbnail) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = blobPath(hash, thumbnail);
+        if (thumbnail && Files.notExists(path)) {
+            // Formats ImageIO can't decode (e.g. webp) have no thumbnail; serve the original.
+            path = blobPath(hash, false);
+        }
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // Thumbnail reference for a stored image reference; null for anything the store did not issue.
+    public static String thumbnailReference(String reference) {
+        if (reference == null || !reference.startsWith(REFERENCE_PREFIX)
+                || !HASH.matcher(reference.substring(REFERENCE_PREFIX.length())).matches()) {
+            return null;
+        }
+        return reference + THUMBNAIL_SUFFIX;
+    }
+
+    private Path blobPath(String hash, boolean thumbnail) {
+        return root.resolve(hash.substring(0, 2)).resolve(thumbnail ? hash + ".thumb" : hash);
+    }
+
+    private record ImageDimensions(int width, int height) {
+    }
+
+    // Null when no installed ImageIO reader understands the format (e.g. webp).
+    private static ImageDimensions readDimensions(byte[] content) {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new ImageDimensions(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new InvalidImageException("Image header could not be read.", e);
+        }
+    }
+
+    private void writeThumbnail(String hash, byte[] content, String contentType, ImageDimensions dimensions) throws IOException {
+        if (dimensions == null) {
+            // No reader for this format; locate() falls back to the original.
+            return;
+        }
+        BufferedImage source;
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(content))) {
+            ImageReader reader = ImageIO.getImageReaders(input).next();
+            try {
+                reader.setInput(input, true, true);
+                // Subsampling skips rows and columns while decoding, so a large original never has
+                // to be held in memory at full resolution just to be scaled down.
+                int step = Math.max(1, Math.max(dimensions.width(), dimensions.height()) / thumbnailSize);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                source = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            // Undecodable but correctly tagged images are still stored; locate() falls back to the original.
+            return;
+        }
+        double scale = Math.min(1.0, (double) thumbnailSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        boolean jpeg = ImageFormats.JPEG.equals(contentType);
+        BufferedImage thumbnail = new BufferedImage(width, height,
+                jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path target = blobPath(hash, true);
+        Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        try {
+            ImageIO.write(thumbnail, jpeg ? "jpg" : "png", temp.toFile());
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same content won the race; its bytes are identical.
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
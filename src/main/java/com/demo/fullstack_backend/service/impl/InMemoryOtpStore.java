@@ -0,0 +1,110 @@
+package com.demo.fullstack_backend.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.demo.fullstack_backend.service.OtpStore;
+
+@Service
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private static final int STRIPES = 64;
+
+    private record Entry(String otp, boolean verified, int attempts, long expiresAt) {
+    }
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    @Value("${app.otp.ttlMs}")
+    private long ttlMs;
+
+    @Value("${app.otp.maxAttempts}")
+    private int maxAttempts;
+
+    @Value("${app.otp.resetWindowMs}")
+    private long resetWindowMs;
+
+    public InMemoryOtpStore() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void issue(long userId, String otp) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            entries.put(userId, new Entry(otp, false, 0, System.currentTimeMillis() + ttlMs));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Verification verify(long userId, String otp) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            Entry entry = entries.get(userId);
+            if (entry == null || entry.expiresAt() <= now) {
+                entries.remove(userId);
+                return Verification.EXPIRED;
+            }
+            boolean matches = MessageDigest.isEqual(entry.otp().getBytes(StandardCharsets.UTF_8), otp.getBytes(StandardCharsets.UTF_8));
+            if (entry.verified()) {
+                // A repeated verify (a retried request, a double submit) must not cost the caller the grant.
+                return matches ? Verification.VERIFIED : Verification.INVALID;
+            }
+            if (matches) {
+                entries.put(userId, new Entry(entry.otp(), true, entry.attempts() + 1, now + resetWindowMs));
+                return Verification.VERIFIED;
+            }
+            if (entry.attempts() + 1 >= maxAttempts) {
+                entries.remove(userId);
+            } else {
+                entries.put(userId, new Entry(entry.otp(), false, entry.attempts() + 1, entry.expiresAt()));
+            }
+            return Verification.INVALID;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean consumeResetGrant(long userId) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry == null || !entry.verified()) {
+                return false;
+            }
+            entries.remove(userId);
+            return entry.expiresAt() > System.currentTimeMillis();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.otp.purgeIntervalMs}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(entry -> entry.getValue().expiresAt() <= now);
+    }
+
+    private ReentrantLock lockFor(long userId) {
+        return locks[Long.hashCode(userId) & (STRIPES - 1)];
+    }
+}
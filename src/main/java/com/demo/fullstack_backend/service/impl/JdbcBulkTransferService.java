@@ -0,0 +1,405 @@
+package com.demo.fullstack_backend.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.demo.fullstack_backend.cache.CacheInvalidator;
+import com.demo.fullstack_backend.cache.CacheNames;
+import com.demo.fullstack_backend.cache.WebsiteVersionIndex;
+import com.demo.fullstack_backend.dto.BulkImportResult;
+import com.demo.fullstack_backend.dto.BulkImportResult.RowResult;
+import com.demo.fullstack_backend.dto.UserDto;
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.exception.InvalidImageException;
+import com.demo.fullstack_backend.mapper.UserMapper;
+import com.demo.fullstack_backend.mapper.WebsiteMapper;
+import com.demo.fullstack_backend.model.User;
+import com.demo.fullstack_backend.model.Website;
+import com.demo.fullstack_backend.projection.UserIdentity;
+import com.demo.fullstack_backend.projection.UserProfile;
+import com.demo.fullstack_backend.projection.WebsiteSummary;
+import com.demo.fullstack_backend.repository.UserRepository;
+import com.demo.fullstack_backend.repository.WebsiteRepository;
+import com.demo.fullstack_backend.security.BCryptStrength;
+import com.demo.fullstack_backend.service.BulkTransferService;
+import com.demo.fullstack_backend.service.ImageStore;
+import com.demo.fullstack_backend.util.BulkRowReader.Row;
+import com.demo.fullstack_backend.util.IdentifierNormalizer;
+
+// Imports run in chunks of app.bulk.batchSize rows: one set-based uniqueness query per chunk,
+// then a single JDBC batch insert in its own transaction. Hibernate can't batch inserts for
+// IDENTITY ids, so the inserts bypass JPA entirely; with rewriteBatchedStatements (MySQL) or
+// reWriteBatchedInserts (PostgreSQL) a chunk becomes a handful of multi-row statements.
+@Service
+public class JdbcBulkTransferService implements BulkTransferService {
+
+    private static final String INSERT_USER = "insert into users (username, name, email, password, mobile_number, "
+            + "role, phone, address, gender, dob, image, status, username_normalized, name_normalized, "
+            + "email_normalized, mobile_number_normalized) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_WEBSITE = "insert into websites (name, logo, primary_color, secondary_color, "
+            + "active, created_at, updated_at, name_normalized) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private record Pending<T>(long line, T value) {
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement statement, T value) throws SQLException;
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WebsiteRepository websiteRepository;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private WebsiteMapper websiteMapper;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private WebsiteVersionIndex websiteVersionIndex;
+
+    @Autowired
+    private IdentifierNormalizer identifierNormalizer;
+
+    @Value("${app.bulk.batchSize}")
+    private int batchSize;
+
+    @Override
+    public BulkImportResult importUsers(Iterator<Row<UserDto>> rows) {
+        List<RowResult> results = new ArrayList<>();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> mobileNumbers = new HashSet<>();
+        List<Pending<UserDto>> chunk = new ArrayList<>(batchSize);
+        while (rows.hasNext()) {
+            Row<UserDto> row = rows.next();
+            String error = row.error() != null ? row.error() : checkUser(row.value(), usernames, emails, mobileNumbers);
+            if (error != null) {
+                results.add(new RowResult(row.line(), null, error));
+                continue;
+            }
+            chunk.add(new Pending<>(row.line(), row.value()));
+            if (chunk.size() == batchSize) {
+                insertUsers(chunk, results);
+                chunk.clear();
+            }
+        }
+        insertUsers(chunk, results);
+        return summarize(results);
+    }
+
+    @Override
+    public BulkImportResult importWebsites(Iterator<Row<WebsiteDto>> rows) {
+        List<RowResult> results = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        List<Pending<WebsiteDto>> chunk = new ArrayList<>(batchSize);
+        while (rows.hasNext()) {
+            Row<WebsiteDto> row = rows.next();
+            String error = row.error();
+            if (error == null && isBlank(row.value().getName())) {
+                error = "Name is required";
+            } else if (error == null && !names.add(row.value().getName())) {
+                error = "Name repeated earlier in this import";
+            }
+            if (error != null) {
+                results.add(new RowResult(row.line(), null, error));
+                continue;
+            }
+            chunk.add(new Pending<>(row.line(), row.value()));
+            if (chunk.size() == batchSize) {
+                insertWebsites(chunk, results);
+                chunk.clear();
+            }
+        }
+        insertWebsites(chunk, results);
+
+        Long lastId = results.stream().map(RowResult::id).filter(Objects::nonNull).max(Long::compare).orElse(null);
+        if (lastId != null) {
+            websiteVersionIndex.forgetCollection();
+            // Other instances drop their collection version whenever a website is evicted.
+            cacheInvalidator.evict(CacheNames.WEBSITES, lastId);
+        }
+        return summarize(results);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(Consumer<? super UserDto> consumer) {
+        try (Stream<UserProfile> users = userRepository.streamAllByOrderByIdAsc(UserProfile.class)) {
+            users.map(userMapper::toDto).forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportWebsites(Consumer<? super WebsiteDto> consumer) {
+        try (Stream<WebsiteSummary> websites = websiteRepository.streamAllByOrderByIdAsc()) {
+            websites.map(websiteMapper::toDto).forEach(consumer);
+        }
+    }
+
+    // Repeats and conflicts are judged on the normalized identifiers, which is what the unique
+    // constraints enforce.
+    private String checkUser(UserDto user, Set<String> usernames, Set<String> emails, Set<String> mobileNumbers) {
+        if (isBlank(user.getUsername()) || isBlank(user.getEmail()) || isBlank(user.getPassword())) {
+            return "Username, email and password are required";
+        }
+        // Passwords must arrive as BCrypt hashes and are stored as is. Hashing plaintext here would
+        // cost a full BCrypt per row (hours for a large import) on the pool that logins depend on.
+        if (!BCryptStrength.BCRYPT_HASH.matcher(user.getPassword()).matches()) {
+            return "Password must be a BCrypt hash; plaintext passwords are only accepted through signup";
+        }
+        String username = identifierNormalizer.username(user.getUsername());
+        String email = identifierNormalizer.email(user.getEmail());
+        String mobileNumber = identifierNormalizer.mobileNumber(user.getMobileNumber());
+        List<String> repeated = new ArrayList<>();
+        if (usernames.contains(username)) {
+            repeated.add("Username");
+        }
+        if (emails.contains(email)) {
+            repeated.add("Email");
+        }
+        if (mobileNumber != null && mobileNumbers.contains(mobileNumber)) {
+            repeated.add("Mobile number");
+        }
+        if (!repeated.isEmpty()) {
+            return String.join(", ", repeated) + " repeated earlier in this import";
+        }
+        usernames.add(username);
+        emails.add(email);
+        if (mobileNumber != null) {
+            mobileNumbers.add(mobileNumber);
+        }
+        return null;
+    }
+
+    private void insertUsers(List<Pending<UserDto>> chunk, List<RowResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenMobileNumbers = new HashSet<>();
+        for (UserIdentity existing : userRepository.findIdentityConflictsIn(
+                collect(chunk, userDto -> identifierNormalizer.username(userDto.getUsername())),
+                collect(chunk, userDto -> identifierNormalizer.email(userDto.getEmail())),
+                collect(chunk, userDto -> identifierNormalizer.mobileNumber(userDto.getMobileNumber())))) {
+            takenUsernames.add(existing.getUsernameNormalized());
+            takenEmails.add(existing.getEmailNormalized());
+            takenMobileNumbers.add(existing.getMobileNumberNormalized());
+        }
+
+        List<Pending<User>> inserts = new ArrayList<>(chunk.size());
+        for (Pending<UserDto> pending : chunk) {
+            UserDto userDto = pending.value();
+            String mobileNumber = identifierNormalizer.mobileNumber(userDto.getMobileNumber());
+            List<String> existingFields = new ArrayList<>();
+            if (takenUsernames.contains(identifierNormalizer.username(userDto.getUsername()))) {
+                existingFields.add("Username");
+            }
+            if (takenEmails.contains(identifierNormalizer.email(userDto.getEmail()))) {
+                existingFields.add("Email");
+            }
+            if (mobileNumber != null && takenMobileNumbers.contains(mobileNumber)) {
+                existingFields.add("Mobile number");
+            }
+            if (!existingFields.isEmpty()) {
+                results.add(new RowResult(pending.line(), null, String.join(", ", existingFields) + " already exists"));
+                continue;
+            }
+            try {
+                User user = userMapper.toEntity(userDto);
+                user.setPassword(userDto.getPassword());
+                user.setImage(imageStore.internalize(userDto.getImage()));
+                // These rows skip JPA, so UserIdentifierListener never sees them.
+                user.setUsernameNormalized(identifierNormalizer.username(user.getUsername()));
+                user.setNameNormalized(identifierNormalizer.name(user.getName()));
+                user.setEmailNormalized(identifierNormalizer.email(user.getEmail()));
+                user.setMobileNumberNormalized(identifierNormalizer.mobileNumber(user.getMobileNumber()));
+                inserts.add(new Pending<>(pending.line(), user));
+            } catch (InvalidImageException e) {
+                results.add(new RowResult(pending.line(), null, e.getMessage()));
+            }
+        }
+        insertBatch(INSERT_USER, inserts, JdbcBulkTransferService::bindUser,
+                "Username, email or mobile number already exists", results);
+    }
+
+    private void insertWebsites(List<Pending<WebsiteDto>> chunk, List<RowResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> takenNames = new HashSet<>(websiteRepository.findExistingNames(collect(chunk, WebsiteDto::getName)));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Pending<Website>> inserts = new ArrayList<>(chunk.size());
+        for (Pending<WebsiteDto> pending : chunk) {
+            WebsiteDto websiteDto = pending.value();
+            if (takenNames.contains(websiteDto.getName())) {
+                results.add(new RowResult(pending.line(), null, "Name already exists"));
+                continue;
+            }
+            try {
+                Website website = websiteMapper.toEntity(websiteDto);
+                website.setLogo(imageStore.internalize(websiteDto.getLogo()));
+                // Keep the original timestamps when re-importing an export.
+                website.setCreatedAt(websiteDto.getCreatedAt() != null ? websiteDto.getCreatedAt() : now);
+                website.setUpdatedAt(websiteDto.getUpdatedAt() != null ? websiteDto.getUpdatedAt() : now);
+                website.setNameNormalized(identifierNormalizer.name(website.getName()));
+                inserts.add(new Pending<>(pending.line(), website));
+            } catch (InvalidImageException e) {
+                results.add(new RowResult(pending.line(), null, e.getMessage()));
+            }
+        }
+        insertBatch(INSERT_WEBSITE, inserts, JdbcBulkTransferService::bindWebsite, "Name already exists", results);
+    }
+
+    private <T> void insertBatch(String sql, List<Pending<T>> rows, RowBinder<T> binder, String conflictMessage,
+                                 List<RowResult> results) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> ids;
+        try {
+            ids = new TransactionTemplate(transactionManager).execute(status -> batchInsert(sql, rows, binder));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent writer took one of the values after our check. Retry row by row so only
+            // the conflicting rows fail.
+            for (Pending<T> row : rows) {
+                try {
+                    results.add(new RowResult(row.line(), insertOne(sql, row.value(), binder), null));
+                } catch (DataIntegrityViolationException conflict) {
+                    results.add(new RowResult(row.line(), null, conflictMessage));
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            results.add(new RowResult(rows.get(i).line(), ids.get(i), null));
+        }
+    }
+
+    private <T> List<Long> batchInsert(String sql, List<Pending<T>> rows, RowBinder<T> binder) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        binder.bind(statement, rows.get(i).value());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+        return generatedIds(keys, rows.size());
+    }
+
+    private <T> Long insertOne(String sql, T value, RowBinder<T> binder) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, new String[] {"id"});
+            binder.bind(statement, value);
+            return statement;
+        }, keys);
+        return generatedIds(keys, 1).get(0);
+    }
+
+    // Drivers name the key column differently (GENERATED_KEY on MySQL, id on PostgreSQL), so take
+    // the only value of each key row.
+    private static List<Long> generatedIds(KeyHolder keys, int expected) {
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        List<Long> ids = new ArrayList<>(expected);
+        for (int i = 0; i < expected; i++) {
+            Object id = i < keyList.size() ? keyList.get(i).values().stream().findFirst().orElse(null) : null;
+            ids.add(id instanceof Number number ? number.longValue() : null);
+        }
+        return ids;
+    }
+
+    private static void bindUser(PreparedStatement statement, User user) throws SQLException {
+        statement.setString(1, user.getUsername());
+        statement.setString(2, user.getName());
+        statement.setString(3, user.getEmail());
+        statement.setString(4, user.getPassword());
+        statement.setString(5, user.getMobileNumber());
+        statement.setString(6, user.getRole());
+        statement.setString(7, user.getPhone());
+        statement.setString(8, user.getAddress());
+        statement.setString(9, user.getGender());
+        statement.setString(10, user.getDob());
+        statement.setString(11, user.getImage());
+        statement.setString(12, user.getStatus());
+        statement.setString(13, user.getUsernameNormalized());
+        statement.setString(14, user.getNameNormalized());
+        statement.setString(15, user.getEmailNormalized());
+        statement.setString(16, user.getMobileNumberNormalized());
+    }
+
+    private static void bindWebsite(PreparedStatement statement, Website website) throws SQLException {
+        statement.setString(1, website.getName());
+        statement.setString(2, website.getLogo());
+        statement.setString(3, website.getPrimaryColor());
+        statement.setString(4, website.getSecondaryColor());
+        statement.setBoolean(5, website.isActive());
+        statement.setObject(6, website.getCreatedAt());
+        statement.setObject(7, website.getUpdatedAt());
+        statement.setString(8, website.getNameNormalized());
+    }
+
+    private static <T> Set<String> collect(List<Pending<T>> chunk, Function<T, String> field) {
+        return chunk.stream().map(pending -> field.apply(pending.value())).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static BulkImportResult summarize(List<RowResult> results) {
+        results.sort(Comparator.comparingLong(RowResult::line));
+        long created = results.stream().filter(result -> result.error() == null).count();
+        return new BulkImportResult(results.size(), created, results.size() - created, results);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
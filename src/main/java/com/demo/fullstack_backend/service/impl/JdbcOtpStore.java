@@ -0,0 +1,92 @@
+package com.demo.fullstack_backend.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.fullstack_backend.service.OtpStore;
+
+// Shares OTP state between instances through a small dedicated table (created by the V2 migration),
+// keeping it off the users row.
+@Service
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "jdbc")
+public class JdbcOtpStore implements OtpStore {
+
+    private static final String ISSUED = "ISSUED";
+    private static final String VERIFIED = "VERIFIED";
+
+    private record Entry(String otp, String state, int attempts, long expiresAt) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.otp.ttlMs}")
+    private long ttlMs;
+
+    @Value("${app.otp.maxAttempts}")
+    private int maxAttempts;
+
+    @Value("${app.otp.resetWindowMs}")
+    private long resetWindowMs;
+
+    @Override
+    @Transactional
+    public void issue(long userId, String otp) {
+        jdbcTemplate.update("delete from password_reset_otps where user_id = ?", userId);
+        jdbcTemplate.update("insert into password_reset_otps (user_id, otp, state, attempts, expires_at) values (?, ?, ?, 0, ?)",
+                userId, otp, ISSUED, new Timestamp(System.currentTimeMillis() + ttlMs));
+    }
+
+    @Override
+    @Transactional
+    public Verification verify(long userId, String otp) {
+        List<Entry> rows = jdbcTemplate.query(
+                "select otp, state, attempts, expires_at from password_reset_otps where user_id = ? for update",
+                (rs, rowNum) -> new Entry(rs.getString("otp"), rs.getString("state"), rs.getInt("attempts"),
+                        rs.getTimestamp("expires_at").getTime()),
+                userId);
+        long now = System.currentTimeMillis();
+        Entry entry = rows.isEmpty() ? null : rows.get(0);
+        if (entry == null || entry.expiresAt() <= now) {
+            jdbcTemplate.update("delete from password_reset_otps where user_id = ?", userId);
+            return Verification.EXPIRED;
+        }
+        boolean matches = MessageDigest.isEqual(entry.otp().getBytes(StandardCharsets.UTF_8), otp.getBytes(StandardCharsets.UTF_8));
+        if (VERIFIED.equals(entry.state())) {
+            // A repeated verify (a retried request, a double submit) must not cost the caller the grant.
+            return matches ? Verification.VERIFIED : Verification.INVALID;
+        }
+        if (matches) {
+            jdbcTemplate.update("update password_reset_otps set state = ?, attempts = attempts + 1, expires_at = ? where user_id = ?",
+                    VERIFIED, new Timestamp(now + resetWindowMs), userId);
+            return Verification.VERIFIED;
+        }
+        if (entry.attempts() + 1 >= maxAttempts) {
+            jdbcTemplate.update("delete from password_reset_otps where user_id = ?", userId);
+        } else {
+            jdbcTemplate.update("update password_reset_otps set attempts = attempts + 1 where user_id = ?", userId);
+        }
+        return Verification.INVALID;
+    }
+
+    @Override
+    public boolean consumeResetGrant(long userId) {
+        return jdbcTemplate.update("delete from password_reset_otps where user_id = ? and state = ? and expires_at > ?",
+                userId, VERIFIED, new Timestamp(System.currentTimeMillis())) == 1;
+    }
+
+    @Scheduled(fixedDelayString = "${app.otp.purgeIntervalMs}")
+    public void purgeExpired() {
+        jdbcTemplate.update("delete from password_reset_otps where expires_at <= ?", new Timestamp(System.currentTimeMillis()));
+    }
+}
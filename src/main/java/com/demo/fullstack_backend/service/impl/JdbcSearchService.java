@@ -0,0 +1,165 @@
+package com.demo.fullstack_backend.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.fullstack_backend.dto.SearchResult;
+import com.demo.fullstack_backend.dto.UserDto;
+import com.demo.fullstack_backend.dto.UserSearchCriteria;
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.dto.WebsiteSearchCriteria;
+import com.demo.fullstack_backend.exception.InvalidSearchException;
+import com.demo.fullstack_backend.service.SearchService;
+import com.demo.fullstack_backend.util.IdentifierNormalizer;
+
+// Every predicate hits an index: the text query is a LIKE 'prefix%' on the lower-cased
+// *_normalized columns (an index range scan, OR-ed per column) and the filters are equality
+// matches on indexed columns. Sorting is restricted to indexed columns as well. On PostgreSQL the
+// prefix matches rely on the varchar_pattern_ops indexes from V7. Paging stops at countLimit,
+// since a deep OFFSET reads and discards every row before it.
+@Service
+public class JdbcSearchService implements SearchService {
+
+    private static final String USER_COLUMNS = "id, username, name, email, mobile_number, role, status";
+    private static final String WEBSITE_COLUMNS = "id, name, logo, primary_color, secondary_color, active, created_at, updated_at";
+
+    private static final Map<String, String> USER_SORTS = Map.of(
+            "id", "id",
+            "username", "username_normalized",
+            "name", "name_normalized",
+            "email", "email_normalized");
+
+    private static final Map<String, String> WEBSITE_SORTS = Map.of(
+            "id", "id",
+            "name", "name_normalized",
+            "updatedAt", "updated_at");
+
+    private static final RowMapper<UserDto> USER_ROW = (rs, rowNum) -> {
+        UserDto user = new UserDto();
+        user.setId(rs.getLong("id"));
+        user.setUsername(rs.getString("username"));
+        user.setName(rs.getString("name"));
+        user.setEmail(rs.getString("email"));
+        user.setMobileNumber(rs.getString("mobile_number"));
+        user.setRole(rs.getString("role"));
+        user.setStatus(rs.getString("status"));
+        return user;
+    };
+
+    private static final RowMapper<WebsiteDto> WEBSITE_ROW = (rs, rowNum) -> {
+        WebsiteDto website = new WebsiteDto();
+        website.setId(rs.getLong("id"));
+        website.setName(rs.getString("name"));
+        website.setLogo(rs.getString("logo"));
+        website.setPrimaryColor(rs.getString("primary_color"));
+        website.setSecondaryColor(rs.getString("secondary_color"));
+        website.setActive(rs.getBoolean("active"));
+        website.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        website.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+        return website;
+    };
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdentifierNormalizer identifierNormalizer;
+
+    @Value("${app.search.countLimit}")
+    private int countLimit;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResult<UserDto> searchUsers(UserSearchCriteria criteria, String sort, int page, int size) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String prefix = prefixPattern(criteria.q());
+        if (prefix != null) {
+            conditions.add("(username_normalized like :prefix escape '!' or email_normalized like :prefix escape '!' "
+                    + "or name_normalized like :prefix escape '!')");
+            params.addValue("prefix", prefix);
+        }
+        addEquals(conditions, params, "role", criteria.role());
+        addEquals(conditions, params, "status", criteria.status());
+        addEquals(conditions, params, "gender", criteria.gender());
+        return search("users", USER_COLUMNS, conditions, params, orderBy(sort, USER_SORTS), page, size, USER_ROW);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResult<WebsiteDto> searchWebsites(WebsiteSearchCriteria criteria, String sort, int page, int size) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String prefix = prefixPattern(criteria.q());
+        if (prefix != null) {
+            conditions.add("name_normalized like :prefix escape '!'");
+            params.addValue("prefix", prefix);
+        }
+        addEquals(conditions, params, "active", criteria.active());
+        return search("websites", WEBSITE_COLUMNS, conditions, params, orderBy(sort, WEBSITE_SORTS), page, size, WEBSITE_ROW);
+    }
+
+    private <T> SearchResult<T> search(String table, String columns, List<String> conditions, MapSqlParameterSource params,
+                                       String orderBy, int page, int size, RowMapper<T> rowMapper) {
+        if (page < 0) {
+            throw new InvalidSearchException("page must not be negative");
+        }
+        if ((long) page * size >= countLimit) {
+            throw new InvalidSearchException("Only the first " + countLimit + " matches can be paged through; narrow the query");
+        }
+        String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+        params.addValue("limit", size);
+        params.addValue("offset", (long) page * size);
+        List<T> items = jdbcTemplate.query("select " + columns + " from " + table + where + " order by " + orderBy
+                + " limit :limit offset :offset", params, rowMapper);
+
+        // Counting every match of a broad query costs as much as reading it, so stop one past the limit.
+        params.addValue("countLimit", countLimit + 1);
+        Long counted = jdbcTemplate.queryForObject("select count(*) from (select 1 from " + table + where
+                + " limit :countLimit) bounded", params, Long.class);
+        long total = counted == null ? 0 : counted;
+        boolean exact = total <= countLimit;
+        return new SearchResult<>(items, page, size, exact ? total : countLimit, exact);
+    }
+
+    // Accepts "field" or "field,asc|desc"; id breaks ties so paging is stable.
+    private static String orderBy(String sort, Map<String, String> sortable) {
+        if (sort == null || sort.isBlank()) {
+            return "id asc";
+        }
+        String[] parts = sort.split(",");
+        String column = sortable.get(parts[0].trim());
+        String direction = parts.length > 1 ? parts[1].trim().toLowerCase(Locale.ROOT) : "asc";
+        if (column == null || parts.length > 2 || !(direction.equals("asc") || direction.equals("desc"))) {
+            throw new InvalidSearchException("Unsupported sort '" + sort + "'; sortable fields are " + sortable.keySet());
+        }
+        return column.equals("id") ? "id " + direction : column + " " + direction + ", id " + direction;
+    }
+
+    private String prefixPattern(String q) {
+        String normalized = identifierNormalizer.name(q);
+        if (normalized == null) {
+            return null;
+        }
+        return normalized.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    private static void addEquals(List<String> conditions, MapSqlParameterSource params, String column, Object value) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            return;
+        }
+        conditions.add(column + " = :" + column);
+        params.addValue(column, value);
+    }
+}
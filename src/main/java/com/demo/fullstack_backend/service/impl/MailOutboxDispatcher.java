@@ -0,0 +1,162 @@
+package com.demo.fullstack_backend.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.demo.fullstack_backend.model.OutboxMail;
+import com.demo.fullstack_backend.repository.OutboxMailRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Drains the mail outbox in batches. Each batch goes out through a single SMTP connection
+// (JavaMailSender opens one transport per send(...) call); failed messages are retried with
+// exponential backoff until maxAttempts is reached. Sent and failed rows are purged after the
+// retention period.
+@Component
+public class MailOutboxDispatcher {
+
+    private final OutboxMailRepository outboxMailRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer batchTimer;
+    private final Counter sent;
+    private final Counter failed;
+
+    @Value("${app.mail.outbox.batchSize}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.maxAttempts}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initialBackoffMs}")
+    private long initialBackoffMs;
+
+    @Value("${app.mail.outbox.maxBackoffMs}")
+    private long maxBackoffMs;
+
+    @Value("${app.mail.outbox.leaseMs}")
+    private long leaseMs;
+
+    @Value("${app.mail.outbox.retention}")
+    private Duration retention;
+
+    public MailOutboxDispatcher(OutboxMailRepository outboxMailRepository, @Lazy JavaMailSender mailSender,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchTimer = Timer.builder("mail.outbox.batch").publishPercentileHistogram().register(meterRegistry);
+        this.sent = Counter.builder("mail.outbox.sent").register(meterRegistry);
+        this.failed = Counter.builder("mail.outbox.failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.pollIntervalMs}")
+    public void dispatch() {
+        while (true) {
+            List<OutboxMail> batch = claimBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            batchTimer.record(() -> sendBatch(batch));
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.purgeIntervalMs}")
+    public void purgeFinished() {
+        outboxMailRepository.deleteByStatusInAndCreatedAtBefore(
+                EnumSet.of(OutboxMail.Status.SENT, OutboxMail.Status.FAILED), LocalDateTime.now().minus(retention));
+    }
+
+    // Claimed rows get their next attempt pushed out by the lease, so other instances skip them and
+    // a crash mid-send only delays the mail instead of losing it.
+    private List<OutboxMail> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMail> due = outboxMailRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                    OutboxMail.Status.PENDING, now, Limit.of(batchSize));
+            for (OutboxMail mail : due) {
+                mail.setAttempts(mail.getAttempts() + 1);
+                mail.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMs)));
+            }
+            return due;
+        });
+    }
+
+    private void sendBatch(List<OutboxMail> batch) {
+        Map<SimpleMailMessage, OutboxMail> byMessage = new IdentityHashMap<>();
+        for (OutboxMail mail : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(mail.getRecipient());
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getBody());
+            byMessage.put(message, mail);
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(byMessage.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                byMessage.keySet().forEach(message -> failures.put(message, e));
+            }
+        } catch (MailException e) {
+            byMessage.keySet().forEach(message -> failures.put(message, e));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (Map.Entry<SimpleMailMessage, OutboxMail> entry : byMessage.entrySet()) {
+                OutboxMail mail = entry.getValue();
+                Exception failure = failures.get(entry.getKey());
+                if (failure == null) {
+                    mail.setStatus(OutboxMail.Status.SENT);
+                    mail.setSentAt(now);
+                    // The body carries the OTP; there is no reason to keep it once delivered.
+                    mail.setBody(null);
+                    mail.setLastError(null);
+                    sent.increment();
+                } else {
+                    mail.setLastError(truncate(String.valueOf(failure.getMessage())));
+                    if (mail.getAttempts() >= maxAttempts) {
+                        mail.setStatus(OutboxMail.Status.FAILED);
+                        failed.increment();
+                    } else {
+                        mail.setNextAttemptAt(now.plus(backoff(mail.getAttempts())));
+                    }
+                }
+                outboxMailRepository.save(mail);
+            }
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -1,141 +1,194 @@
 package com.demo.fullstack_backend.service.impl;
 
+import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.demo.fullstack_backend.cache.CacheInvalidator;
+import com.demo.fullstack_backend.cache.CacheNames;
 import com.demo.fullstack_backend.dto.UserDto;
 import com.demo.fullstack_backend.exception.UserAlreadyExists;
 import com.demo.fullstack_backend.exception.UserNotFoundException;
+import com.demo.fullstack_backend.mapper.UserMapper;
 import com.demo.fullstack_backend.model.User;
 import com.demo.fullstack_backend.payload.LoginResponse;
+import com.demo.fullstack_backend.projection.UserCredentials;
+import com.demo.fullstack_backend.projection.UserIdentity;
+import com.demo.fullstack_backend.projection.UserSummary;
 import com.demo.fullstack_backend.repository.UserRepository;
 import com.demo.fullstack_backend.security.JwtTokenProvider;
+import com.demo.fullstack_backend.security.PasswordHasher;
+import com.demo.fullstack_backend.service.ImageStore;
+import com.demo.fullstack_backend.service.MailOutbox;
+import com.demo.fullstack_backend.service.OtpStore;
 import com.demo.fullstack_backend.service.UserService;
+import com.demo.fullstack_backend.util.IdentifierNormalizer;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final SecureRandom OTP_RANDOM = new SecureRandom();
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailOutbox mailOutbox;
+
+    @Autowired
+    private OtpStore otpStore;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
+    @Lazy
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private IdentifierNormalizer identifierNormalizer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Writes run outside any surrounding transaction: BCrypt and image work happen before a
+    // connection is taken, and after a constraint violation the conflict lookup needs a fresh
+    // session rather than the one that just failed to flush.
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDto saveUser(UserDto userDto) {
-        List<String> existingFields = new ArrayList<>();
-        if (!userRepository.findByUsername(userDto.getUsername()).isEmpty()) {
-            existingFields.add("Username");
-        }
-        if (!userRepository.findByEmail(userDto.getEmail()).isEmpty()) {
-            existingFields.add("Email");
-        }
-        if (!userRepository.findByMobileNumber(userDto.getMobileNumber()).isEmpty()) {
-            existingFields.add("Mobile number");
+        // One indexed lookup turns away duplicates and retried signups before they cost a BCrypt
+        // hash and an image write. The unique constraints still catch a concurrent signup that
+        // slips in between.
+        UserAlreadyExists duplicate = findConflict(0, userDto.getUsername(), userDto.getEmail(), userDto.getMobileNumber());
+        if (duplicate != null) {
+            throw duplicate;
         }
 
-        if (!existingFields.isEmpty()) {
-            throw new UserAlreadyExists(String.join(", ", existingFields) + " already exists");
+        User user = userMapper.toEntity(userDto);
+        user.setPassword(passwordHasher.encode(userDto.getPassword()));
+        user.setImage(imageStore.internalize(userDto.getImage()));
+
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(user.getId(), user.getUsername(), user.getEmail(), user.getMobileNumber(), e);
         }
-        
-        User user = new User();
-        BeanUtils.copyProperties(userDto, user);
-        user.setPassword(passwordEncoder.encode(userDto.getPassword()));
-        
-        User savedUser = userRepository.save(user);
-        UserDto savedUserDto = new UserDto();
-        BeanUtils.copyProperties(savedUser, savedUserDto);
-        savedUserDto.setPassword(null);
-        return savedUserDto;
+        return userMapper.toDto(savedUser);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsers(long afterId, int limit) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)).stream()
+                .map(userMapper::toDto)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream().map(user -> {
-            UserDto userDto = new UserDto();
-            BeanUtils.copyProperties(user, userDto);
-            userDto.setPassword(null);
-            return userDto;
-        }).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void streamUsers(Consumer<? super UserDto> consumer) {
+        try (Stream<UserSummary> users = userRepository.streamAllByOrderByIdAsc(UserSummary.class)) {
+            users.map(userMapper::toDto).forEach(consumer);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.USERS, key = "#id")
     public UserDto getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
-        UserDto userDto = new UserDto();
-        BeanUtils.copyProperties(user, userDto);
-        userDto.setPassword(null);
-        return userDto;
+        return userMapper.toDto(user);
     }
 
+    // One select and one UPDATE of just the changed columns: the loaded entity is tracked by the
+    // enhanced dirty checking and User is @DynamicUpdate, so there is no save()/merge round trip.
+    // The cache is evicted only after the commit, so a concurrent read cannot re-cache the old row.
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDto updateUser(UserDto userDto, Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id));
+        String image = userDto.getImage() != null ? imageStore.internalize(userDto.getImage()) : null;
+        String password = userDto.getPassword() != null && !userDto.getPassword().isEmpty()
+                ? passwordHasher.encode(userDto.getPassword())
+                : null;
 
-        user.setUsername(userDto.getUsername());
-        user.setName(userDto.getName());
-        user.setEmail(userDto.getEmail());
-        user.setMobileNumber(userDto.getMobileNumber());
-        user.setDob(userDto.getDob());
-        user.setGender(userDto.getGender());
-        user.setImage(userDto.getImage());
-        if (userDto.getPassword() != null && !userDto.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(userDto.getPassword()));
-        }
-        
-        User updatedUser = userRepository.save(user);
-        UserDto updatedUserDto = new UserDto();
-        BeanUtils.copyProperties(updatedUser, updatedUserDto);
-        updatedUserDto.setPassword(null);
-        return updatedUserDto;
+        UserDto updatedUser;
+        try {
+            updatedUser = new TransactionTemplate(transactionManager).execute(status -> {
+                User user = userRepository.findById(id)
+                        .orElseThrow(() -> new UserNotFoundException(id));
+                userMapper.updateEntity(userDto, user);
+                if (image != null) {
+                    user.setImage(image);
+                }
+                if (password != null) {
+                    user.setPassword(password);
+                }
+                return userMapper.toDto(user);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(id, userDto.getUsername(), userDto.getEmail(), userDto.getMobileNumber(), e);
+        }
+        cacheInvalidator.evict(CacheNames.USERS, id);
+        return updatedUser;
     }
 
     @Override
     public String deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
+        if (userRepository.deleteUserById(id) == 0) {
             throw new UserNotFoundException(id);
         }
-        userRepository.deleteById(id);
+        cacheInvalidator.evict(CacheNames.USERS, id);
         return "User with id " + id + " has been deleted success.";
     }
 
+    // Deliberately not transactional: each lookup is its own short read, so no connection is held
+    // while BCrypt runs.
     @Override
     public LoginResponse loginUser(String usernameOrEmail, String password) {
-        List<User> users = userRepository.findByUsernameOrEmail(usernameOrEmail.trim(), usernameOrEmail.trim());
-        if (users.size() == 1) {
-            User user = users.get(0);
-            if (passwordEncoder.matches(password.trim(), user.getPassword())) {
-                String token = tokenProvider.generateToken(user.getUsername());
-                UserDto userDto = new UserDto();
-                BeanUtils.copyProperties(user, userDto);
-                userDto.setPassword(null);
-                return new LoginResponse(token, userDto);
-            } else {
-                throw new RuntimeException("Invalid credentials: Incorrect password.");
-            }
-        } else if (users.isEmpty()) {
+        Optional<UserCredentials> account = identifierNormalizer.looksLikeEmail(usernameOrEmail)
+                ? userRepository.findByEmailNormalized(identifierNormalizer.email(usernameOrEmail))
+                : userRepository.findByUsernameNormalized(identifierNormalizer.username(usernameOrEmail));
+        if (account.isEmpty()) {
             throw new RuntimeException("Invalid credentials: User not found.");
-        } else {
-            throw new RuntimeException("Invalid credentials: Ambiguous user. Multiple accounts found.");
         }
+        UserCredentials user = account.get();
+        if (!passwordHasher.matches(password.trim(), user.getPassword())) {
+            throw new RuntimeException("Invalid credentials: Incorrect password.");
+        }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            userRepository.updatePassword(user.getId(), passwordHasher.encode(password.trim()));
+        }
+        String token = tokenProvider.generateToken(user.getUsername());
+        UserSummary profile = userRepository.findSummaryById(user.getId())
+                .orElseThrow(() -> new UserNotFoundException(user.getId()));
+        return new LoginResponse(token, userMapper.toDto(profile));
     }
 
     @Override
@@ -144,13 +197,12 @@ public class UserServiceImpl implements UserService {
             return "Email cannot be empty.";
         }
 
-        Optional<User> userOptional = userRepository.findFirstByEmailOrMobileNumber(email, email);
+        Optional<UserIdentity> userOptional = findAccount(email);
 
         if (userOptional.isPresent()) {
-            User user = userOptional.get();
+            UserIdentity user = userOptional.get();
             String otp = generateOtp();
-            user.setOtp(otp);
-            userRepository.save(user);
+            otpStore.issue(user.getId(), otp);
             sendOtpToEmail(user.getEmail(), otp);
             return "OTP sent to " + user.getEmail();
         } else {
@@ -164,16 +216,16 @@ public class UserServiceImpl implements UserService {
             return "Email and OTP cannot be empty.";
         }
 
-        Optional<User> userOptional = userRepository.findFirstByEmailOrMobileNumber(email, email);
+        Optional<UserIdentity> userOptional = findAccount(email);
 
         if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            if (otp.equals(user.getOtp())) {
-                user.setOtp(null); // Clear OTP after successful verification
-                userRepository.save(user);
-                return "OTP verified successfully.";
-            } else {
-                return "Invalid OTP.";
+            switch (otpStore.verify(userOptional.get().getId(), otp.trim())) {
+                case VERIFIED:
+                    return "OTP verified successfully.";
+                case EXPIRED:
+                    return "OTP has expired. Please request a new one.";
+                default:
+                    return "Invalid OTP.";
             }
         } else {
             return "User not found with email: " + email;
@@ -186,27 +238,79 @@ public class UserServiceImpl implements UserService {
             return "Email and new password cannot be empty.";
         }
 
-        Optional<User> userOptional = userRepository.findFirstByEmailOrMobileNumber(email, email);
+        Optional<UserIdentity> userOptional = findAccount(email);
 
         if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            user.setPassword(passwordEncoder.encode(newPassword));
-            userRepository.save(user);
+            UserIdentity user = userOptional.get();
+            // The grant is checked before the deliberately slow hash, so requests without one are cheap.
+            if (!otpStore.consumeResetGrant(user.getId())) {
+                return "Please verify the OTP before resetting the password.";
+            }
+            String encodedPassword = passwordHasher.encode(newPassword);
+            userRepository.updatePassword(user.getId(), encodedPassword);
             return "Password reset successfully.";
         } else {
             return "User not found with email: " + email;
         }
     }
 
+    // Recovery accepts an email address or a mobile number; the format decides which index is probed.
+    private Optional<UserIdentity> findAccount(String emailOrMobile) {
+        if (identifierNormalizer.looksLikeEmail(emailOrMobile)) {
+            return userRepository.findIdentityByEmailNormalized(identifierNormalizer.email(emailOrMobile));
+        }
+        String mobileNumber = identifierNormalizer.mobileNumber(emailOrMobile);
+        return mobileNumber == null ? Optional.empty() : userRepository.findIdentityByMobileNumberNormalized(mobileNumber);
+    }
+
+    private RuntimeException toConflict(long id, String username, String email, String mobileNumber,
+                                        DataIntegrityViolationException cause) {
+        UserAlreadyExists conflict = findConflict(id, username, email, mobileNumber);
+        return conflict != null ? conflict : cause;
+    }
+
+    // Compares normalized values, as the unique constraints do, so "Alice" conflicts with "alice".
+    // Returns null when no other user holds any of the identifiers.
+    private UserAlreadyExists findConflict(long id, String username, String email, String mobileNumber) {
+        String usernameNormalized = identifierNormalizer.username(username);
+        String emailNormalized = identifierNormalizer.email(email);
+        String mobileNumberNormalized = identifierNormalizer.mobileNumber(mobileNumber);
+        boolean usernameTaken = false;
+        boolean emailTaken = false;
+        boolean mobileNumberTaken = false;
+        for (UserIdentity existing : userRepository.findIdentityConflicts(
+                usernameNormalized, emailNormalized, mobileNumberNormalized)) {
+            if (existing.getId() == id) {
+                continue;
+            }
+            usernameTaken |= usernameNormalized != null && usernameNormalized.equals(existing.getUsernameNormalized());
+            emailTaken |= emailNormalized != null && emailNormalized.equals(existing.getEmailNormalized());
+            mobileNumberTaken |= mobileNumberNormalized != null
+                    && mobileNumberNormalized.equals(existing.getMobileNumberNormalized());
+        }
+
+        List<String> existingFields = new ArrayList<>();
+        if (usernameTaken) {
+            existingFields.add("Username");
+        }
+        if (emailTaken) {
+            existingFields.add("Email");
+        }
+        if (mobileNumberTaken) {
+            existingFields.add("Mobile number");
+        }
+        if (existingFields.isEmpty()) {
+            return null;
+        }
+        return new UserAlreadyExists(String.join(", ", existingFields) + " already exists");
+    }
+
     private String generateOtp() {
-        return String.format("%06d", new Random().nextInt(999999));
+        return String.format("%06d", OTP_RANDOM.nextInt(1_000_000));
     }
 
     private void sendOtpToEmail(String toEmail, String otp) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(toEmail);
-        message.setSubject("Your OTP for Password Reset");
-        message.setText("Your OTP is: " + otp);
-        mailSender.send(message);
+        // Delivered by MailOutboxDispatcher; the request only waits for the outbox insert.
+        mailOutbox.enqueue(toEmail, "Your OTP for Password Reset", "Your OTP is: " + otp);
     }
 }
@@ -0,0 +1,162 @@
+package com.demo.fullstack_backend.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.demo.fullstack_backend.cache.CacheInvalidator;
+import com.demo.fullstack_backend.cache.CacheNames;
+import com.demo.fullstack_backend.cache.WebsiteVersionIndex;
+import com.demo.fullstack_backend.dto.WebsiteDto;
+import com.demo.fullstack_backend.exception.WebsiteNotFoundException;
+import com.demo.fullstack_backend.mapper.WebsiteMapper;
+import com.demo.fullstack_backend.model.Website;
+import com.demo.fullstack_backend.projection.WebsiteCollectionVersion;
+import com.demo.fullstack_backend.projection.WebsiteSummary;
+import com.demo.fullstack_backend.repository.WebsiteRepository;
+import com.demo.fullstack_backend.service.ImageStore;
+import com.demo.fullstack_backend.service.WebsiteService;
+
+@Service
+public class WebsiteServiceImpl implements WebsiteService {
+
+    @Autowired
+    private WebsiteRepository websiteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private WebsiteVersionIndex versionIndex;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private WebsiteMapper websiteMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public WebsiteDto createWebsite(WebsiteDto websiteDto) {
+        Website website = websiteMapper.toEntity(websiteDto);
+        website.setLogo(imageStore.internalize(websiteDto.getLogo()));
+        LocalDateTime now = LocalDateTime.now();
+        website.setCreatedAt(now);
+        website.setUpdatedAt(now);
+        Website savedWebsite = websiteRepository.save(website);
+        versionIndex.record(savedWebsite.getId(), savedWebsite.getUpdatedAt());
+        versionIndex.forgetCollection();
+        cacheInvalidator.evict(CacheNames.WEBSITES, savedWebsite.getId());
+        return websiteMapper.toDto(savedWebsite);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WebsiteDto> getWebsites(long afterId, int limit) {
+        return websiteRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)).stream()
+                .map(websiteMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamWebsites(Consumer<? super WebsiteDto> consumer) {
+        // The stream holds a JDBC cursor open, so the transaction lasts for as long as we write.
+        try (Stream<WebsiteSummary> websites = websiteRepository.streamAllByOrderByIdAsc()) {
+            websites.map(websiteMapper::toDto).forEach(consumer);
+        }
+    }
+
+    // Not transactional: most calls are answered by the version index without touching the database.
+    @Override
+    public WebsiteCollectionVersion getCollectionVersion() {
+        WebsiteCollectionVersion version = versionIndex.lookupCollection();
+        if (version == null) {
+            version = websiteRepository.findCollectionVersion();
+            versionIndex.recordCollection(version);
+        }
+        return version;
+    }
+
+    // Read straight from the table rather than from the cached DTO: a copy cached before another
+    // instance's write would otherwise keep re-recording the old version. Returns null when the
+    // row is missing or has no updatedAt, so the caller falls through to a full load.
+    @Override
+    public LocalDateTime getWebsiteVersion(Long id) {
+        LocalDateTime version = versionIndex.lookup(id);
+        if (version == null) {
+            version = websiteRepository.findUpdatedAtById(id).orElse(null);
+            if (version != null) {
+                versionIndex.record(id, version);
+            }
+        }
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.WEBSITES, key = "#id")
+    public WebsiteDto getWebsiteById(Long id) {
+        Website website = websiteRepository.findById(id)
+                .orElseThrow(() -> new WebsiteNotFoundException(id));
+        return websiteMapper.toDto(website);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @CachePut(cacheNames = CacheNames.WEBSITES, key = "#id")
+    public WebsiteDto reloadWebsite(Long id) {
+        Website website = websiteRepository.findById(id)
+                .orElseThrow(() -> new WebsiteNotFoundException(id));
+        return websiteMapper.toDto(website);
+    }
+
+    // Same shape as UserServiceImpl.updateUser: the changed columns are written by dirty checking
+    // at commit, and the version index and cache are only touched once the commit went through.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public WebsiteDto updateWebsite(WebsiteDto websiteDto, Long id) {
+        String logo = websiteDto.getLogo() != null ? imageStore.internalize(websiteDto.getLogo()) : null;
+
+        WebsiteDto updatedWebsite = new TransactionTemplate(transactionManager).execute(status -> {
+            Website website = websiteRepository.findById(id)
+                    .orElseThrow(() -> new WebsiteNotFoundException(id));
+            websiteMapper.updateEntity(websiteDto, website);
+            if (logo != null) {
+                website.setLogo(logo);
+            }
+            website.setUpdatedAt(LocalDateTime.now());
+            return websiteMapper.toDto(website);
+        });
+        versionIndex.record(id, updatedWebsite.getUpdatedAt());
+        versionIndex.forgetCollection();
+        cacheInvalidator.evict(CacheNames.WEBSITES, id);
+        return updatedWebsite;
+    }
+
+    @Override
+    public String deleteWebsite(Long id) {
+        if (websiteRepository.deleteWebsiteById(id) == 0) {
+            throw new WebsiteNotFoundException(id);
+        }
+        versionIndex.forget(id);
+        versionIndex.forgetCollection();
+        cacheInvalidator.evict(CacheNames.WEBSITES, id);
+        return "Website with id " + id + " has been deleted successfully.";
+    }
+}
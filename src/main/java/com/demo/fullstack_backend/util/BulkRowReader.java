@@ -0,0 +1,144 @@
+package com.demo.fullstack_backend.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+// Reads a bulk upload (NDJSON or CSV with a header row) one row at a time. Rows that cannot be
+// parsed come back with an error instead of failing the whole upload, so the import can report
+// them by line number and carry on. CSV that can't be parsed any further (an unterminated quote,
+// a field over maxFieldLength) ends the upload with one last error row rather than an exception,
+// since earlier chunks have already been committed.
+public class BulkRowReader<T> implements Iterator<BulkRowReader.Row<T>> {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    public record Row<T>(long line, T value, String error) {
+    }
+
+    private interface Source<T> {
+        Row<T> read() throws IOException;
+    }
+
+    private final Source<T> source;
+    private Row<T> next;
+    private boolean done;
+
+    private BulkRowReader(Source<T> source) {
+        this.source = source;
+    }
+
+    public static <T> BulkRowReader<T> open(InputStream in, MediaType contentType, Class<T> type, ObjectMapper objectMapper,
+                                            int maxFieldLength) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return TEXT_CSV.equalsTypeAndSubtype(contentType)
+                ? csv(reader, type, objectMapper, maxFieldLength)
+                : ndjson(reader, type, objectMapper);
+    }
+
+    private static <T> BulkRowReader<T> ndjson(BufferedReader reader, Class<T> type, ObjectMapper objectMapper) {
+        ObjectReader objectReader = objectMapper.readerFor(type);
+        long[] line = {0};
+        return new BulkRowReader<>(() -> {
+            String text;
+            do {
+                text = reader.readLine();
+                line[0]++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                return new Row<>(line[0], objectReader.readValue(text), null);
+            } catch (JsonProcessingException e) {
+                return new Row<>(line[0], null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        });
+    }
+
+    private static <T> BulkRowReader<T> csv(BufferedReader reader, Class<T> type, ObjectMapper objectMapper,
+                                            int maxFieldLength) {
+        CsvReader csv = new CsvReader(reader, maxFieldLength);
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (header == null) {
+            return new BulkRowReader<>(() -> null);
+        }
+        // Spreadsheet exports often start with a UTF-8 byte order mark.
+        header.set(0, header.get(0).replace("\uFEFF", ""));
+        header.replaceAll(String::trim);
+
+        boolean[] stopped = {false};
+        return new BulkRowReader<>(() -> {
+            if (stopped[0]) {
+                return null;
+            }
+            List<String> values;
+            try {
+                values = csv.next();
+            } catch (CsvReader.MalformedCsvException e) {
+                stopped[0] = true;
+                return new Row<>(csv.recordLine(), null, e.getMessage() + "; the rest of the upload was not read");
+            }
+            if (values == null) {
+                return null;
+            }
+            if (values.size() != header.size()) {
+                return new Row<>(csv.recordLine(), null,
+                        "Expected " + header.size() + " columns but found " + values.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                if (!values.get(i).isEmpty()) {
+                    fields.put(header.get(i), values.get(i));
+                }
+            }
+            try {
+                return new Row<>(csv.recordLine(), objectMapper.convertValue(fields, type), null);
+            } catch (IllegalArgumentException e) {
+                return new Row<>(csv.recordLine(), null, "Invalid value: " + e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = source.read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Row<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row<T> row = next;
+        next = null;
+        return row;
+    }
+}
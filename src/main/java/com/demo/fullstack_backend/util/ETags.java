@@ -0,0 +1,62 @@
+package com.demo.fullstack_backend.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.http.MediaType;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String forWebsite(long id, LocalDateTime updatedAt) {
+        return "\"w" + id + "-" + version(updatedAt) + "\"";
+    }
+
+    public static String forWebsitePage(long count, Long maxId, LocalDateTime lastUpdatedAt, long after, int limit) {
+        return "\"ws" + count + "-" + (maxId == null ? 0 : maxId) + "-" + version(lastUpdatedAt)
+                + "-" + after + "-" + limit + "\"";
+    }
+
+    // JSON, Smile and CBOR bodies of the same version are different representations, so each gets
+    // its own tag; JSON keeps the plain one.
+    public static String forFormat(String etag, MediaType format) {
+        if (format == null || MediaType.APPLICATION_JSON.equalsTypeAndSubtype(format)) {
+            return etag;
+        }
+        String suffix = MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(format) ? "-cbor" : "-smile";
+        return etag.substring(0, etag.length() - 1) + suffix + "\"";
+    }
+
+    // If-None-Match uses the weak comparison function (RFC 9110 13.1.2), so W/ prefixes are ignored.
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String version(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return "0";
+        }
+        // The database keeps microseconds, so anything finer would change the tag after a reload.
+        LocalDateTime truncated = timestamp.truncatedTo(ChronoUnit.MICROS);
+        long micros = truncated.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + truncated.getNano() / 1_000;
+        return Long.toString(micros, 36);
+    }
+}
@@ -0,0 +1,70 @@
+package com.demo.fullstack_backend.util;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Canonical forms used for the indexed *_normalized lookup columns. Login and recovery input
+// goes through the same methods, so "  Alice@Example.COM " and "alice@example.com" hit the same
+// index entry, as do "098765 43210" and "+919876543210".
+@Component
+public class IdentifierNormalizer {
+
+    @Value("${app.identity.defaultCallingCode}")
+    private String defaultCallingCode;
+
+    public String username(String username) {
+        return lowerTrim(username);
+    }
+
+    public String email(String email) {
+        return lowerTrim(email);
+    }
+
+    // Display names are only searched by prefix, so case and surrounding blanks are all that matter.
+    public String name(String name) {
+        return lowerTrim(name);
+    }
+
+    // E.164: "+" followed by digits. Numbers given without "+" or "00" are treated as national
+    // numbers: one leading trunk zero is dropped and the default calling code is prepended.
+    public String mobileNumber(String mobileNumber) {
+        if (mobileNumber == null) {
+            return null;
+        }
+        String trimmed = mobileNumber.trim();
+        StringBuilder digits = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.isEmpty()) {
+            return null;
+        }
+        if (trimmed.startsWith("+")) {
+            return "+" + digits;
+        }
+        if (digits.length() > 2 && digits.charAt(0) == '0' && digits.charAt(1) == '0') {
+            return "+" + digits.substring(2);
+        }
+        if (digits.charAt(0) == '0') {
+            digits.deleteCharAt(0);
+        }
+        return "+" + defaultCallingCode + digits;
+    }
+
+    public boolean looksLikeEmail(String identifier) {
+        return identifier != null && identifier.indexOf('@') >= 0;
+    }
+
+    private static String lowerTrim(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,60 @@
+package com.demo.fullstack_backend.util;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+// Writes the same text as DateTimeFormatter.ISO_LOCAL_DATE_TIME ("2024-06-01T12:00:00", with the
+// fraction trimmed of trailing zeros) straight into a char buffer, skipping the formatter's
+// field-by-field printer chain that the jsr310 serializer goes through for every timestamp.
+public class LocalDateTimeJsonSerializer extends StdSerializer<LocalDateTime> {
+
+    public LocalDateTimeJsonSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed and five-digit years are rare enough to leave to the formatter.
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        char[] buffer = new char[29];
+        int position = digits(buffer, 0, year, 4);
+        buffer[position++] = '-';
+        position = digits(buffer, position, value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        position = digits(buffer, position, value.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        position = digits(buffer, position, value.getHour(), 2);
+        buffer[position++] = ':';
+        position = digits(buffer, position, value.getMinute(), 2);
+        buffer[position++] = ':';
+        position = digits(buffer, position, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano != 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buffer[position++] = '.';
+            position = digits(buffer, position, nano, width);
+        }
+        generator.writeString(buffer, 0, position);
+    }
+
+    private static int digits(char[] buffer, int position, int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + width;
+    }
+}
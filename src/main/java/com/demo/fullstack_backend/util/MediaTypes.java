@@ -0,0 +1,69 @@
+package com.demo.fullstack_backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+public final class MediaTypes {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private MediaTypes() {
+    }
+
+    public static boolean wantsNdjson(String acceptHeader) {
+        return accepts(acceptHeader, MediaType.APPLICATION_NDJSON);
+    }
+
+    // True when the response will be plain JSON rather than Smile, CBOR or a 406.
+    public static boolean wantsJson(String acceptHeader) {
+        return MediaType.APPLICATION_JSON.equals(jacksonFormat(acceptHeader));
+    }
+
+    // Which Jackson format content negotiation picks for this Accept header: the most preferred of
+    // JSON, Smile and CBOR in Spring's own order (quality, then specificity), JSON when there is no
+    // usable header, and null when the client accepts none of them.
+    public static MediaType jacksonFormat(String acceptHeader) {
+        List<MediaType> acceptable = new ArrayList<>(parse(acceptHeader));
+        if (acceptable.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType type : acceptable) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.equalsTypeAndSubtype(APPLICATION_SMILE)) {
+                return APPLICATION_SMILE;
+            }
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+        }
+        return null;
+    }
+
+    // True only when the client names the type explicitly; wildcards keep the endpoint's default.
+    public static boolean accepts(String acceptHeader, MediaType mediaType) {
+        return parse(acceptHeader).stream().anyMatch(mediaType::equalsTypeAndSubtype);
+    }
+
+    // A malformed header counts as no header, so the endpoint answers with its default
+    // representation instead of a 500.
+    private static List<MediaType> parse(String acceptHeader) {
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return List.of();
+        }
+        try {
+            return MediaType.parseMediaTypes(acceptHeader);
+        } catch (InvalidMediaTypeException e) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.demo.fullstack_backend.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+// Writes one JSON document per line straight to the response stream.
+public class NdjsonWriter implements Consumer<Object> {
+
+    private final OutputStream out;
+    private final ObjectWriter writer;
+
+    public NdjsonWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.out = out;
+        this.writer = objectMapper.writer();
+    }
+
+    @Override
+    public void accept(Object value) {
+        try {
+            out.write(writer.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
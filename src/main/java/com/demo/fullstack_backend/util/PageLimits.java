@@ -0,0 +1,16 @@
+package com.demo.fullstack_backend.util;
+
+public final class PageLimits {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PageLimits() {
+    }
+
+    public static int clamp(Integer requested, int defaultSize, int maxSize) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+}
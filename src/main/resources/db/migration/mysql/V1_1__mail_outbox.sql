@@ -0,0 +1,16 @@
+-- Outbox for OTP mail, drained by MailOutboxDispatcher.
+create table mail_outbox (
+    id bigint not null auto_increment,
+    recipient varchar(255),
+    subject varchar(255),
+    body text,
+    status enum('PENDING', 'SENT', 'FAILED'),
+    attempts integer not null,
+    next_attempt_at datetime(6),
+    created_at datetime(6),
+    sent_at datetime(6),
+    last_error varchar(1000),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_mail_outbox_due on mail_outbox (status, next_attempt_at);
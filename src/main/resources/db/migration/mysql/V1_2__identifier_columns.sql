@@ -0,0 +1,76 @@
+-- Lower-cased / E.164 copies of the login and recovery identifiers, kept in step by
+-- UserIdentifierListener for new writes. Existing rows are filled here with the same rules as
+-- IdentifierNormalizer; ${defaultCallingCode} comes from app.identity.defaultCallingCode.
+alter table users add column username_normalized varchar(255);
+alter table users add column email_normalized varchar(255);
+alter table users add column mobile_number_normalized varchar(255);
+
+update users set username_normalized = nullif(lower(trim(username)), '') where username is not null;
+update users set email_normalized = nullif(lower(trim(email)), '') where email is not null;
+
+-- Digits first, then the prefix: "+" keeps the given country code, "00" is an international
+-- prefix, otherwise one trunk zero is dropped and the default calling code is prepended.
+update users set mobile_number_normalized = nullif(regexp_replace(mobile_number, '[^0-9]', ''), '') where mobile_number is not null;
+update users set mobile_number_normalized = case
+        when trim(mobile_number) like '+%' then concat('+', mobile_number_normalized)
+        when mobile_number_normalized like '00_%' then concat('+', substr(mobile_number_normalized, 3))
+        when mobile_number_normalized like '0%' then concat('+', '${defaultCallingCode}', substr(mobile_number_normalized, 2))
+        else concat('+', '${defaultCallingCode}', mobile_number_normalized)
+    end
+    where mobile_number_normalized is not null;
+
+-- Rows whose raw values differ only in case or formatting (always possible on PostgreSQL, and
+-- on MySQL for mobile numbers) normalize to the same value. The oldest account keeps it; the
+-- newer ones are recorded in identifier_conflicts and then left without one, so they can't be
+-- found through that identifier and their next update is rejected as a conflict until the
+-- identifier is changed. IdentifierConflictReport logs the recorded rows after the migration.
+create table identifier_conflicts (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    kept_user_id bigint not null,
+    identifier varchar(32) not null,
+    normalized_value varchar(255) not null,
+    raw_value varchar(255),
+    recorded_at datetime(6) not null default current_timestamp(6),
+    primary key (id)
+) engine=InnoDB;
+
+insert into identifier_conflicts (user_id, kept_user_id, identifier, normalized_value, raw_value)
+    select u.id, d.keep_id, 'username', u.username_normalized, u.username from users u
+    join (select username_normalized as value, min(id) as keep_id from users
+          where username_normalized is not null group by username_normalized having count(*) > 1) d
+        on u.username_normalized = d.value and u.id <> d.keep_id;
+
+insert into identifier_conflicts (user_id, kept_user_id, identifier, normalized_value, raw_value)
+    select u.id, d.keep_id, 'email', u.email_normalized, u.email from users u
+    join (select email_normalized as value, min(id) as keep_id from users
+          where email_normalized is not null group by email_normalized having count(*) > 1) d
+        on u.email_normalized = d.value and u.id <> d.keep_id;
+
+insert into identifier_conflicts (user_id, kept_user_id, identifier, normalized_value, raw_value)
+    select u.id, d.keep_id, 'mobile_number', u.mobile_number_normalized, u.mobile_number from users u
+    join (select mobile_number_normalized as value, min(id) as keep_id from users
+          where mobile_number_normalized is not null group by mobile_number_normalized having count(*) > 1) d
+        on u.mobile_number_normalized = d.value and u.id <> d.keep_id;
+
+update users u
+    join (select username_normalized as value, min(id) as keep_id from users
+          where username_normalized is not null group by username_normalized having count(*) > 1) d
+        on u.username_normalized = d.value and u.id <> d.keep_id
+    set u.username_normalized = null;
+
+update users u
+    join (select email_normalized as value, min(id) as keep_id from users
+          where email_normalized is not null group by email_normalized having count(*) > 1) d
+        on u.email_normalized = d.value and u.id <> d.keep_id
+    set u.email_normalized = null;
+
+update users u
+    join (select mobile_number_normalized as value, min(id) as keep_id from users
+          where mobile_number_normalized is not null group by mobile_number_normalized having count(*) > 1) d
+        on u.mobile_number_normalized = d.value and u.id <> d.keep_id
+    set u.mobile_number_normalized = null;
+
+alter table users add constraint uk_users_username_normalized unique (username_normalized);
+alter table users add constraint uk_users_email_normalized unique (email_normalized);
+alter table users add constraint uk_users_mobile_number_normalized unique (mobile_number_normalized);
@@ -0,0 +1,21 @@
+-- websites.name was TEXT, which InnoDB can only index with a prefix, so the unique constraint
+-- Hibernate asked for was never created. 191 characters keeps a utf8mb4 key within the
+-- 767-byte limit of older row formats. Names longer than that must be shortened first.
+alter table websites modify name varchar(191);
+alter table websites add constraint uk_websites_name unique (name);
+
+create index idx_users_status on users (status);
+create index idx_users_role on users (role);
+create index idx_websites_active on websites (active);
+
+-- Previously created on demand by JdbcOtpStore.
+create table if not exists password_reset_otps (
+    user_id bigint not null primary key,
+    otp varchar(16),
+    state varchar(16) not null,
+    attempts int not null,
+    expires_at timestamp not null
+);
+
+-- OTPs now live in password_reset_otps; the old column only holds codes that expired long ago.
+alter table users drop column otp;
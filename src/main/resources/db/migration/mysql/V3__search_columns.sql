@@ -0,0 +1,10 @@
+-- Lower-cased name copies so the search endpoints can match prefixes through an index.
+alter table users add column name_normalized varchar(255);
+alter table websites add column name_normalized varchar(191);
+
+update users set name_normalized = lower(trim(name)) where name is not null;
+update websites set name_normalized = lower(trim(name)) where name is not null;
+
+create index idx_users_name_normalized on users (name_normalized);
+create index idx_users_gender on users (gender);
+create index idx_websites_name_normalized on websites (name_normalized);
@@ -0,0 +1,7 @@
+-- Single row stamped on the primary and read back on the replica to measure replication lag.
+create table replication_heartbeat (
+    id int not null primary key,
+    beat_at bigint not null
+);
+
+insert into replication_heartbeat (id, beat_at) values (1, 0);
@@ -0,0 +1,16 @@
+-- Outbox for OTP mail, drained by MailOutboxDispatcher.
+create table mail_outbox (
+    id bigint generated by default as identity,
+    recipient varchar(255),
+    subject varchar(255),
+    body text,
+    status varchar(16) check (status in ('PENDING', 'SENT', 'FAILED')),
+    attempts integer not null,
+    next_attempt_at timestamp(6),
+    created_at timestamp(6),
+    sent_at timestamp(6),
+    last_error varchar(1000),
+    primary key (id)
+);
+
+create index idx_mail_outbox_due on mail_outbox (status, next_attempt_at);
@@ -0,0 +1,38 @@
+-- Schema as spring.jpa.hibernate.ddl-auto=update left it before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate), so
+-- only new databases run this script. Anything added to the schema since then belongs in a later
+-- version, never here, or baselined databases would silently miss it.
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255),
+    name varchar(255),
+    email varchar(255),
+    password varchar(255),
+    mobile_number varchar(255),
+    role varchar(255),
+    phone varchar(255),
+    address varchar(255),
+    gender varchar(255),
+    dob varchar(255),
+    otp varchar(255),
+    image varchar(255),
+    status varchar(255),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint uk_users_mobile_number unique (mobile_number)
+);
+
+create table websites (
+    id bigint generated by default as identity,
+    name text,
+    logo text,
+    primary_color text,
+    secondary_color text,
+    active boolean not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint uk_websites_name unique (name)
+);
@@ -0,0 +1,18 @@
+-- Keeps websites.name bounded like on MySQL; PostgreSQL already enforces its unique constraint.
+alter table websites alter column name type varchar(191);
+
+create index idx_users_status on users (status);
+create index idx_users_role on users (role);
+create index idx_websites_active on websites (active);
+
+-- Previously created on demand by JdbcOtpStore.
+create table if not exists password_reset_otps (
+    user_id bigint not null primary key,
+    otp varchar(16),
+    state varchar(16) not null,
+    attempts int not null,
+    expires_at timestamp not null
+);
+
+-- OTPs now live in password_reset_otps; the old column only holds codes that expired long ago.
+alter table users drop column otp;
@@ -0,0 +1,11 @@
+-- Responses recorded for Idempotency-Key retries when app.idempotency.store=jdbc.
+create table idempotency_keys (
+    idempotency_key char(64) not null primary key,
+    fingerprint char(64) not null,
+    status int not null,
+    content_type varchar(255),
+    body bytea,
+    expires_at timestamp not null
+);
+
+create index idx_idempotency_keys_expires_at on idempotency_keys (expires_at);
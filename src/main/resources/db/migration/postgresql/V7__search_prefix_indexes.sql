@@ -0,0 +1,7 @@
+-- Under a non-C collation a plain btree (including the unique constraints from V1_2) can't serve
+-- LIKE 'prefix%', so the search endpoints would scan the whole table. varchar_pattern_ops indexes
+-- compare byte-wise and can. MySQL needs no counterpart: its btree indexes handle prefix LIKE.
+create index idx_users_username_normalized_prefix on users (username_normalized varchar_pattern_ops);
+create index idx_users_email_normalized_prefix on users (email_normalized varchar_pattern_ops);
+create index idx_users_name_normalized_prefix on users (name_normalized varchar_pattern_ops);
+create index idx_websites_name_normalized_prefix on websites (name_normalized varchar_pattern_ops);
@@ -0,0 +1,95 @@
+package com.demo.fullstack_backend.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+// Each Node stands in for one application instance with its own local caches; instances that
+// share a bus see each other's evictions, instances without one do not.
+class CacheInvalidatorTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    void evictRemovesTheEntryFromTheLocalCache() {
+        Node node = new Node(busProvider(new InMemoryCacheInvalidationBus()));
+        node.cacheManager.getCache(CacheNames.USERS).put(1L, "alice");
+
+        node.invalidator.evict(CacheNames.USERS, 1L);
+
+        assertNull(node.cacheManager.getCache(CacheNames.USERS).get(1L));
+    }
+
+    @Test
+    void writesOnOneInstanceEvictTheEntryOnTheOthers() {
+        InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        Node writer = new Node(busProvider(bus));
+        Node reader = new Node(busProvider(bus));
+        reader.cacheManager.getCache(CacheNames.WEBSITES).put(7L, "site");
+        reader.cacheManager.getCache(CacheNames.WEBSITES).put(8L, "other site");
+
+        writer.invalidator.evict(CacheNames.WEBSITES, 7L);
+
+        assertNull(reader.cacheManager.getCache(CacheNames.WEBSITES).get(7L));
+        assertNotNull(reader.cacheManager.getCache(CacheNames.WEBSITES).get(8L));
+    }
+
+    @Test
+    void remoteWebsiteWritesAlsoDropTheRememberedVersions() {
+        InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        Node writer = new Node(busProvider(bus));
+        Node reader = new Node(busProvider(bus));
+        reader.versionIndex.record(7L, UPDATED_AT);
+        reader.versionIndex.record(8L, UPDATED_AT);
+        writer.versionIndex.record(7L, UPDATED_AT);
+
+        writer.invalidator.evict(CacheNames.WEBSITES, 7L);
+
+        assertNull(reader.versionIndex.lookup(7L));
+        assertEquals(UPDATED_AT, reader.versionIndex.lookup(8L));
+        // The writer keeps its own index current itself, so its own broadcast is not applied back.
+        assertEquals(UPDATED_AT, writer.versionIndex.lookup(7L));
+    }
+
+    @Test
+    void withoutASharedBusEvictionsStayLocal() {
+        Node writer = new Node(busProvider(null));
+        Node reader = new Node(busProvider(null));
+        writer.cacheManager.getCache(CacheNames.USERS).put(1L, "alice");
+        reader.cacheManager.getCache(CacheNames.USERS).put(1L, "alice");
+
+        writer.invalidator.evict(CacheNames.USERS, 1L);
+
+        assertNull(writer.cacheManager.getCache(CacheNames.USERS).get(1L));
+        assertNotNull(reader.cacheManager.getCache(CacheNames.USERS).get(1L));
+    }
+
+    private static ObjectProvider<CacheInvalidationBus> busProvider(CacheInvalidationBus bus) {
+        StaticListableBeanFactory beanFactory = bus == null ? new StaticListableBeanFactory()
+                : new StaticListableBeanFactory(Map.of("cacheInvalidationBus", bus));
+        return beanFactory.getBeanProvider(CacheInvalidationBus.class);
+    }
+
+    private static class Node {
+
+        private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheNames.USERS, CacheNames.WEBSITES);
+        private final WebsiteVersionIndex versionIndex = new WebsiteVersionIndex();
+        private final CacheInvalidator invalidator;
+
+        Node(ObjectProvider<CacheInvalidationBus> bus) {
+            ReflectionTestUtils.setField(versionIndex, "ttlMs", 60_000L);
+            ReflectionTestUtils.setField(versionIndex, "maxSize", 100);
+            this.invalidator = new CacheInvalidator(cacheManager, bus, versionIndex);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.demo.fullstack_backend.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Two separate in-memory H2 databases stand in for the primary and the replica; each knows its
+// own role, so a query reveals which pool served it.
+class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaLagMonitor lagMonitor;
+    private Counter fallbacks;
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        lagMonitor = new ReplicaLagMonitor(primary, replica, 5000, meterRegistry);
+        fallbacks = meterRegistry.counter("datasource.replica.fallback");
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replica, lagMonitor, fallbacks);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaWhileItKeepsUp() {
+        replicaHeartbeat(System.currentTimeMillis());
+        lagMonitor.check();
+
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", role(true));
+        assertEquals("primary", role(false));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaLags() {
+        replicaHeartbeat(System.currentTimeMillis() - 60_000);
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", role(true));
+        assertEquals(1.0, fallbacks.count());
+    }
+
+    @Test
+    void readsStayOnThePrimaryUntilTheReplicaHasBeenChecked() {
+        assertEquals("primary", role(true));
+    }
+
+    @Test
+    void anUnreachableReplicaIsNotUsed() {
+        replicaHeartbeat(System.currentTimeMillis());
+        lagMonitor.check();
+        replica.shutdown();
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", role(true));
+    }
+
+    private String role(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(routingDataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(routingDataSource).queryForObject("select name from database_role", String.class));
+    }
+
+    private void replicaHeartbeat(long beatAt) {
+        new JdbcTemplate(replica).update("update replication_heartbeat set beat_at = ? where id = 1", beatAt);
+    }
+
+    private static EmbeddedDatabase database(String role) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(role + "-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table replication_heartbeat (id int not null primary key, beat_at bigint not null)");
+        jdbcTemplate.update("insert into replication_heartbeat (id, beat_at) values (1, 0)");
+        jdbcTemplate.execute("create table database_role (name varchar(16) not null)");
+        jdbcTemplate.update("insert into database_role (name) values (?)", role);
+        return database;
+    }
+}
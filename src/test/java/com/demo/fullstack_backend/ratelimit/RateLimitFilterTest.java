@@ -0,0 +1,164 @@
+package com.demo.fullstack_backend.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.demo.fullstack_backend.config.WebConfig;
+import com.demo.fullstack_backend.util.IdentifierNormalizer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRules().put("login-ip", rule(RateLimitProperties.KeyType.IP, 3));
+        properties.getRules().put("login-identifier", rule(RateLimitProperties.KeyType.IDENTIFIER, 2));
+
+        IdentifierNormalizer identifierNormalizer = new IdentifierNormalizer();
+        ReflectionTestUtils.setField(identifierNormalizer, "defaultCallingCode", "91");
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, new InMemoryRateLimitStore(1000, Duration.ofMinutes(1)),
+                identifierNormalizer, new ObjectMapper(), meterRegistry, new WebConfig().corsConfigurationSource());
+    }
+
+    @Test
+    void rejectsWithRetryAfterOnceTheIpBucketIsEmpty() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, login("10.0.0.1", "user" + i + "@example.com").getStatus());
+        }
+        MockHttpServletResponse rejected = login("10.0.0.1", "user3@example.com");
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(200, login("10.0.0.2", "user3@example.com").getStatus());
+        assertEquals(1.0, meterRegistry.get("ratelimit.requests")
+                .tags("rule", "login-ip", "outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void sharesTheIdentifierBucketAcrossAddressesAndSpellings() throws Exception {
+        assertEquals(200, login("10.0.0.1", "Alice@Example.com").getStatus());
+        assertEquals(200, login("10.0.0.2", "  alice@example.COM ").getStatus());
+        assertEquals(429, login("10.0.0.3", "alice@example.com").getStatus());
+        assertEquals(200, login("10.0.0.3", "bob@example.com").getStatus());
+    }
+
+    @Test
+    void passesTheBodyThroughUnchanged() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        String body = "{\"emailOrMobile\":\"alice@example.com\",\"password\":\"secret\"}";
+        filter.doFilter(request("10.0.0.1", body), new MockHttpServletResponse(), chain);
+
+        assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void refusesOversizeBodiesInsteadOfSkippingTheIdentifierRule() throws Exception {
+        String padded = "{\"emailOrMobile\":\"alice@example.com\"" + " ".repeat(9000) + ",\"password\":\"x\"}";
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("10.0.0.1", padded), response, chain);
+
+        assertEquals(413, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void bodiesWithoutAnIdentifierAreChargedToTheClientAddress() throws Exception {
+        assertEquals(200, send("10.0.0.1", "{\"password\":\"x\"}").getStatus());
+        assertEquals(200, send("10.0.0.1", "not json").getStatus());
+        assertEquals(429, send("10.0.0.1", "{\"emailOrMobile\":[\"alice@example.com\"]}").getStatus());
+
+        // Other clients are unaffected, with or without an identifier.
+        assertEquals(200, send("10.0.0.2", "{\"password\":\"x\"}").getStatus());
+        assertEquals(200, login("10.0.0.3", "alice@example.com").getStatus());
+    }
+
+    @Test
+    void corsPreflightsAreNeverThrottled() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            MockHttpServletRequest preflight = new MockHttpServletRequest("OPTIONS", "/login");
+            preflight.setRemoteAddr("10.0.0." + i);
+            preflight.addHeader(HttpHeaders.ORIGIN, "https://mallikarjunvelivela.github.io");
+            preflight.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST");
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(preflight, new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+        assertNull(meterRegistry.find("ratelimit.requests").counter());
+        assertEquals(200, login("10.0.0.1", "alice@example.com").getStatus());
+    }
+
+    @Test
+    void rejectionsCarryCorsHeadersSoBrowsersCanReadRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            login("10.0.0.1", "alice@example.com");
+        }
+        MockHttpServletRequest request = request("10.0.0.2", "{\"emailOrMobile\":\"alice@example.com\"}");
+        request.addHeader(HttpHeaders.ORIGIN, "https://mallikarjunvelivela.github.io");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertEquals("https://mallikarjunvelivela.github.io", response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+        assertTrue(response.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS).contains(HttpHeaders.RETRY_AFTER));
+        assertNotNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void ignoresOtherPaths() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/websites"), new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+        assertNull(meterRegistry.find("ratelimit.requests").counter());
+    }
+
+    private MockHttpServletResponse login(String remoteAddr, String emailOrMobile) throws Exception {
+        return send(remoteAddr, "{\"emailOrMobile\":\"" + emailOrMobile + "\",\"password\":\"x\"}");
+    }
+
+    private MockHttpServletResponse send(String remoteAddr, String body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(remoteAddr, body), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr(remoteAddr);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static RateLimitProperties.Rule rule(RateLimitProperties.KeyType key, int capacity) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setPath("/login");
+        rule.setKey(key);
+        rule.setCapacity(capacity);
+        rule.setPeriod(Duration.ofMinutes(1));
+        return rule;
+    }
+}
@@ -0,0 +1,119 @@
+package com.demo.fullstack_backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "ThisIsAReallyLongAndStrongPasswordThatIsAtLeast512BitsLongForHS512";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenProvider = new JwtTokenProvider(meterRegistry);
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60_000);
+        tokenProvider.init();
+        filter = new JwtAuthenticationFilter(tokenProvider, meterRegistry, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatRequestsWithTheSameTokenAreServedFromTheCache() throws Exception {
+        String token = tokenProvider.generateToken("alice");
+
+        assertEquals("alice", authenticate(token).getName());
+        assertEquals("alice", authenticate(token).getName());
+        assertEquals("alice", authenticate(token).getName());
+
+        // Only the first request paid for signature verification.
+        assertEquals(1, meterRegistry.get("jwt.verify").timer().count());
+    }
+
+    @Test
+    void aCachedTokenIsNotAcceptedAfterItExpires() throws Exception {
+        // exp is kept in whole seconds, so the token is valid for at least half a second from now
+        // and certainly expired after 1.6s.
+        String token = Jwts.builder()
+                .setSubject("alice")
+                .setExpiration(new Date(System.currentTimeMillis() + 1500))
+                .signWith(key())
+                .compact();
+        assertEquals("alice", authenticate(token).getName());
+
+        Thread.sleep(1600);
+
+        assertNull(authenticate(token));
+        assertEquals(1.0, meterRegistry.get("jwt.rejected").counter().count());
+    }
+
+    @Test
+    void aTamperedTokenIsRejectedEvenWhileTheOriginalIsCached() throws Exception {
+        String token = tokenProvider.generateToken("alice");
+        assertEquals("alice", authenticate(token).getName());
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\",\"exp\":4102444800}".getBytes(StandardCharsets.UTF_8));
+        assertNull(authenticate(parts[0] + "." + forgedPayload + "." + parts[2]));
+
+        // Change a character inside the signature; the final one can carry only padding bits.
+        int i = parts[0].length() + parts[1].length() + 2 + parts[2].length() / 2;
+        char flipped = token.charAt(i) == 'A' ? 'Q' : 'A';
+        assertNull(authenticate(token.substring(0, i) + flipped + token.substring(i + 1)));
+
+        assertEquals(2.0, meterRegistry.get("jwt.rejected").counter().count());
+    }
+
+    @Test
+    void aTokenSignedWithAnotherKeyIsRejected() throws Exception {
+        String token = Jwts.builder()
+                .setSubject("alice")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(new StringBuilder(SECRET).reverse().toString().getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertNull(authenticate(token));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/1");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static SecretKey key() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,224 @@
+package com.demo.fullstack_backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import com.demo.fullstack_backend.model.OutboxMail;
+import com.demo.fullstack_backend.repository.OutboxMailRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// An in-memory SMTP stand-in records what was sent and refuses chosen recipients; the outbox
+// table is a list behind a mocked repository that answers the claim query the way the database would.
+class MailOutboxDispatcherTest {
+
+    private static final long INITIAL_BACKOFF_MS = 1000;
+    private static final long LEASE_MS = 120_000;
+
+    private final List<OutboxMail> outbox = new ArrayList<>();
+    private RecordingMailSender mailSender;
+    private MailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        OutboxMailRepository repository = mock(OutboxMailRepository.class);
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(any(), any(), any()))
+                .thenAnswer(invocation -> due(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mailSender = new RecordingMailSender();
+        dispatcher = new MailOutboxDispatcher(repository, mailSender, new NoOpTransactionManager(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", INITIAL_BACKOFF_MS);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", LEASE_MS);
+    }
+
+    @Test
+    void deliveredMailIsMarkedSentAndLosesItsBody() {
+        OutboxMail mail = enqueue("alice@example.com");
+
+        dispatcher.dispatch();
+
+        assertEquals(OutboxMail.Status.SENT, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertNull(mail.getBody());
+        assertEquals(List.of("alice@example.com"), mailSender.delivered);
+    }
+
+    @Test
+    void failedMailIsRetriedWithExponentialBackoffUntilItGoesThrough() {
+        OutboxMail mail = enqueue("bob@example.com");
+        mailSender.refused.add("bob@example.com");
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+        assertEquals(OutboxMail.Status.PENDING, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertRetryAfter(mail, before, INITIAL_BACKOFF_MS);
+
+        // Not due yet: a second poll leaves it alone.
+        dispatcher.dispatch();
+        assertEquals(1, mail.getAttempts());
+
+        makeDue(mail);
+        before = LocalDateTime.now();
+        dispatcher.dispatch();
+        assertEquals(2, mail.getAttempts());
+        assertRetryAfter(mail, before, 2 * INITIAL_BACKOFF_MS);
+
+        mailSender.refused.clear();
+        makeDue(mail);
+        dispatcher.dispatch();
+        assertEquals(OutboxMail.Status.SENT, mail.getStatus());
+        assertEquals(3, mail.getAttempts());
+        assertNull(mail.getLastError());
+    }
+
+    @Test
+    void mailIsGivenUpAfterMaxAttempts() {
+        OutboxMail mail = enqueue("carol@example.com");
+        mailSender.refused.add("carol@example.com");
+
+        for (int i = 0; i < 3; i++) {
+            makeDue(mail);
+            dispatcher.dispatch();
+        }
+
+        assertEquals(OutboxMail.Status.FAILED, mail.getStatus());
+        assertTrue(mail.getLastError().contains("carol@example.com"));
+        makeDue(mail);
+        dispatcher.dispatch();
+        assertEquals(3, mail.getAttempts());
+    }
+
+    @Test
+    void claimedMailIsLeasedSoAnotherPollCannotPickItUpMidSend() {
+        OutboxMail mail = enqueue("dave@example.com");
+        List<Integer> claimedDuringSend = new ArrayList<>();
+        mailSender.duringSend = () -> {
+            claimedDuringSend.add(due(OutboxMail.Status.PENDING, LocalDateTime.now(), Limit.of(10)).size());
+            assertTrue(mail.getNextAttemptAt().isAfter(LocalDateTime.now().plus(Duration.ofMillis(LEASE_MS / 2))));
+        };
+
+        dispatcher.dispatch();
+
+        assertEquals(List.of(0), claimedDuringSend);
+        assertEquals(OutboxMail.Status.SENT, mail.getStatus());
+    }
+
+    @Test
+    void oneRefusedRecipientDoesNotHoldBackTheRestOfTheBatch() {
+        OutboxMail refused = enqueue("erin@example.com");
+        OutboxMail accepted = enqueue("frank@example.com");
+        mailSender.refused.add("erin@example.com");
+
+        dispatcher.dispatch();
+
+        assertEquals(OutboxMail.Status.PENDING, refused.getStatus());
+        assertEquals(OutboxMail.Status.SENT, accepted.getStatus());
+        assertEquals(List.of("frank@example.com"), mailSender.delivered);
+    }
+
+    private OutboxMail enqueue(String recipient) {
+        OutboxMail mail = new OutboxMail();
+        mail.setId((long) outbox.size() + 1);
+        mail.setRecipient(recipient);
+        mail.setSubject("Your OTP");
+        mail.setBody("123456");
+        mail.setStatus(OutboxMail.Status.PENDING);
+        mail.setCreatedAt(LocalDateTime.now());
+        mail.setNextAttemptAt(LocalDateTime.now());
+        outbox.add(mail);
+        return mail;
+    }
+
+    private List<OutboxMail> due(OutboxMail.Status status, LocalDateTime now, Limit limit) {
+        return outbox.stream()
+                .filter(mail -> mail.getStatus() == status && !mail.getNextAttemptAt().isAfter(now))
+                .sorted(Comparator.comparing(OutboxMail::getId))
+                .limit(limit.max())
+                .toList();
+    }
+
+    private static void makeDue(OutboxMail mail) {
+        mail.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+    }
+
+    private static void assertRetryAfter(OutboxMail mail, LocalDateTime before, long backoffMs) {
+        LocalDateTime earliest = before.plus(Duration.ofMillis(backoffMs));
+        LocalDateTime latest = LocalDateTime.now().plus(Duration.ofMillis(backoffMs));
+        assertTrue(!mail.getNextAttemptAt().isBefore(earliest) && !mail.getNextAttemptAt().isAfter(latest),
+                "next attempt at " + mail.getNextAttemptAt() + ", expected about " + backoffMs + "ms out");
+    }
+
+    private static class RecordingMailSender extends JavaMailSenderImpl {
+
+        private final List<String> delivered = new ArrayList<>();
+        private final Set<String> refused = new HashSet<>();
+        private Runnable duringSend = () -> { };
+
+        @Override
+        public void send(SimpleMailMessage... messages) {
+            duringSend.run();
+            Map<Object, Exception> failures = new LinkedHashMap<>();
+            for (SimpleMailMessage message : messages) {
+                String recipient = message.getTo()[0];
+                if (refused.contains(recipient)) {
+                    failures.put(message, new MailSendException("550 mailbox unavailable: " + recipient));
+                } else {
+                    delivered.add(recipient);
+                }
+            }
+            if (!failures.isEmpty()) {
+                throw new MailSendException(failures);
+            }
+        }
+    }
+
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}